@@ -0,0 +1,102 @@
+package br.com.daniel.userserviceapi.benchmark;
+
+import br.com.daniel.userserviceapi.controller.converters.UserResponseStreamHttpMessageConverter;
+import br.com.daniel.userserviceapi.entity.User;
+import br.com.daniel.userserviceapi.mapper.UserMapper;
+import br.com.daniel.userserviceapi.service.UserResponseStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.daniel.userserviceapi.creator.CreatorUtils.generateMock;
+
+/**
+ * Compares the findAll pipeline that decodes entities, maps them into a list and
+ * serializes the list with the streaming path that maps documents one at a time
+ * into the response body. Run with {@code ./gradlew jmh}; the GC profiler reports
+ * allocation per operation ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindAllSerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    private int users;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+    private final UserResponseStreamHttpMessageConverter converter = new UserResponseStreamHttpMessageConverter(objectMapper);
+    private MappingMongoConverter mongoConverter;
+    private List<Document> documents;
+
+    @Setup
+    public void setUp() {
+        mongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        mongoConverter.afterPropertiesSet();
+
+        documents = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            final var document = new Document();
+            mongoConverter.write(generateMock(User.class).withId(new ObjectId().toHexString()), document);
+            documents.add(document);
+        }
+    }
+
+    @Benchmark
+    public void entityListPipeline() throws IOException {
+        final var responses = documents.stream()
+                .map(document -> mongoConverter.read(User.class, document))
+                .map(userMapper::fromEntity)
+                .toList();
+        objectMapper.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    @Benchmark
+    public void streamingPipeline() throws IOException {
+        final UserResponseStream stream = action -> documents.forEach(document -> action.accept(userMapper.fromDocument(document)));
+        converter.write(stream, MediaType.APPLICATION_JSON, new DiscardingOutputMessage());
+    }
+
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.daniel.userserviceapi.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-threaded latency log; each worker owns one per operation and they are merged at the end.
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    private long errors;
+
+    public void record(final long latencyNanos, final boolean success) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public static Summary summarize(final List<LatencyRecorder> recorders, final double elapsedSeconds) {
+        final var count = recorders.stream().mapToInt(recorder -> recorder.size).sum();
+        final var merged = new long[count];
+        var offset = 0;
+        var errors = 0L;
+        for (final var recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, merged, offset, recorder.size);
+            offset += recorder.size;
+            errors += recorder.errors;
+        }
+        Arrays.sort(merged);
+
+        return new Summary(
+                count,
+                errors,
+                count / elapsedSeconds,
+                percentileMillis(merged, 0.50),
+                percentileMillis(merged, 0.90),
+                percentileMillis(merged, 0.99),
+                percentileMillis(merged, 0.999),
+                count == 0 ? 0 : merged[count - 1] / 1_000_000d
+        );
+    }
+
+    private static double percentileMillis(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final var index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000d;
+    }
+
+    public record Summary(
+            long requests,
+            long errors,
+            double throughputPerSecond,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis
+    ) {
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.daniel.userserviceapi.loadtest;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record LoadTestReport(
+        Instant timestamp,
+        String javaVersion,
+        int availableProcessors,
+        LoadTestSettings settings,
+        double elapsedSeconds,
+        LatencyRecorder.Summary total,
+        Map<Operation, LatencyRecorder.Summary> operations
+) {
+
+    public String toTable() {
+        final var table = new StringBuilder(String.format("%n%-10s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        operations.forEach((operation, summary) -> table.append(row(operation.key(), summary)));
+        return table.append(row("total", total)).toString();
+    }
+
+    private static String row(final String name, final LatencyRecorder.Summary summary) {
+        return String.format("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, summary.requests(), summary.errors(), summary.throughputPerSecond(), summary.p50Millis(),
+                summary.p90Millis(), summary.p99Millis(), summary.p999Millis(), summary.maxMillis());
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.daniel.userserviceapi.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load-test knobs, read from {@code -Dloadtest.*} system properties.
+ */
+public record LoadTestSettings(
+        int users,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        long seed,
+        double maxErrorRate,
+        Path reportDir
+) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 10_000),
+                Integer.getInteger("loadtest.concurrency", 32),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                parseMix(System.getProperty("loadtest.mix", "findById:80,update:10,save:9,findAll:1")),
+                Long.getLong("loadtest.seed", 42),
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01")),
+                Path.of(System.getProperty("loadtest.report-dir", "build/reports/load-test"))
+        );
+    }
+
+    public int totalWeight() {
+        return mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static Map<Operation, Integer> parseMix(final String mix) {
+        final var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (final var entry : mix.split(",")) {
+            final var parts = entry.trim().split(":");
+            final var weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix [" + mix + "] has no operation with positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.daniel.userserviceapi.loadtest;
+
+public enum Operation {
+    FIND_BY_ID("findById"),
+    FIND_ALL("findAll"),
+    SAVE("save"),
+    UPDATE("update");
+
+    private final String key;
+
+    Operation(final String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Operation fromKey(final String key) {
+        for (final var operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation [" + key + "]");
+    }
+}
@@ -0,0 +1,231 @@
+package br.com.daniel.userserviceapi.loadtest;
+
+import br.com.daniel.userserviceapi.entity.User;
+import br.com.daniel.userserviceapi.service.ProfileCountService;
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static br.com.daniel.userserviceapi.creator.CreatorUtils.generateMock;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Seeds the in-memory Mongo stand-in and drives a mixed read/write workload over HTTP,
+ * writing a JSON report per run so throughput and latency can be compared between builds.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class UserLoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(final DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () ->
+                "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/helpdesk");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProfileCountService profileCountService;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void mixedReadWriteWorkload() throws Exception {
+        final var settings = LoadTestSettings.fromSystemProperties();
+        final var users = seed(settings.users());
+
+        drive(settings, users, settings.warmup(), "warmup");
+
+        final long start = System.nanoTime();
+        final var workers = drive(settings, users, settings.duration(), "run");
+        final double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+        final var report = report(settings, workers, elapsedSeconds);
+        System.out.println(report.toTable());
+
+        Files.createDirectories(settings.reportDir());
+        final var json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        Files.writeString(settings.reportDir().resolve("load-test-" + report.timestamp().toEpochMilli() + ".json"), json);
+        Files.writeString(settings.reportDir().resolve("latest.json"), json);
+
+        final var total = report.total();
+        assertTrue(total.errors() <= total.requests() * settings.maxErrorRate(),
+                "Error rate above threshold: " + total.errors() + " of " + total.requests());
+    }
+
+    private List<SeededUser> seed(final int count) {
+        final var seeded = new ArrayList<SeededUser>(count);
+        for (int offset = 0; offset < count; offset += SEED_BATCH_SIZE) {
+            final var batch = new ArrayList<User>(SEED_BATCH_SIZE);
+            for (int i = offset; i < Math.min(count, offset + SEED_BATCH_SIZE); i++) {
+                batch.add(generateMock(User.class).withId(null).withEmail("load-user-" + i + "@example.com"));
+            }
+            mongoTemplate.insert(batch, User.class)
+                    .forEach(user -> seeded.add(new SeededUser(user.getId(), user.getEmail())));
+        }
+        // Seeding bypasses UserService, so the per-profile counters are recomputed once
+        profileCountService.rebuild();
+        return seeded;
+    }
+
+    private List<Map<Operation, LatencyRecorder>> drive(final LoadTestSettings settings, final List<SeededUser> users,
+                                                        final Duration duration, final String phase)
+            throws InterruptedException, ExecutionException {
+        final long deadline = System.nanoTime() + duration.toNanos();
+        final var workers = new ArrayList<Future<Map<Operation, LatencyRecorder>>>();
+
+        try (var executor = Executors.newFixedThreadPool(settings.concurrency())) {
+            for (int worker = 0; worker < settings.concurrency(); worker++) {
+                final var random = new SplittableRandom(settings.seed() + worker);
+                final var workerId = phase + "-" + worker;
+
+                workers.add(executor.submit(() -> {
+                    final var recorders = new EnumMap<Operation, LatencyRecorder>(Operation.class);
+                    long sequence = 0;
+                    while (System.nanoTime() < deadline) {
+                        final var operation = pick(settings, random);
+                        final var request = request(operation, users, random, workerId + "-" + sequence++);
+
+                        final long start = System.nanoTime();
+                        final var status = send(request);
+                        recorders.computeIfAbsent(operation, key -> new LatencyRecorder())
+                                .record(System.nanoTime() - start, status / 100 == 2);
+                    }
+                    return recorders;
+                }));
+            }
+        }
+
+        final var results = new ArrayList<Map<Operation, LatencyRecorder>>();
+        for (final var worker : workers) {
+            results.add(worker.get());
+        }
+        return results;
+    }
+
+    private static Operation pick(final LoadTestSettings settings, final SplittableRandom random) {
+        var roll = random.nextInt(settings.totalWeight());
+        for (final var entry : settings.mix().entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Workload mix exhausted");
+    }
+
+    private HttpRequest request(final Operation operation, final List<SeededUser> users,
+                                final SplittableRandom random, final String sequence) throws IOException {
+        final var user = users.get(random.nextInt(users.size()));
+        final var builder = HttpRequest.newBuilder().timeout(REQUEST_TIMEOUT);
+
+        return switch (operation) {
+            case FIND_BY_ID -> builder.uri(uri("/api/users/" + user.id())).GET().build();
+            case FIND_ALL -> builder.uri(uri("/api/users")).GET().build();
+            case SAVE -> builder.uri(uri("/api/users"))
+                    .header("Content-Type", "application/json")
+                    .POST(body("load-save-" + sequence + "@example.com", random))
+                    .build();
+            case UPDATE -> builder.uri(uri("/api/users/" + user.id()))
+                    .header("Content-Type", "application/json")
+                    .PUT(body(user.email(), random))
+                    .build();
+        };
+    }
+
+    private HttpRequest.BodyPublisher body(final String email, final SplittableRandom random) throws IOException {
+        final var profiles = ProfileEnum.values();
+        return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of(
+                "name", "Load User " + random.nextInt(1_000_000),
+                "email", email,
+                "password", "load-test-password",
+                "profiles", Set.of(profiles[random.nextInt(profiles.length)])
+        )));
+    }
+
+    private int send(final HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (final IOException e) {
+            return -1;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private URI uri(final String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static LoadTestReport report(final LoadTestSettings settings,
+                                         final List<Map<Operation, LatencyRecorder>> workers,
+                                         final double elapsedSeconds) {
+        final var operations = new EnumMap<Operation, LatencyRecorder.Summary>(Operation.class);
+        for (final var operation : settings.mix().keySet()) {
+            operations.put(operation, LatencyRecorder.summarize(workers.stream()
+                    .map(recorders -> recorders.get(operation))
+                    .filter(Objects::nonNull)
+                    .toList(), elapsedSeconds));
+        }
+        final var total = LatencyRecorder.summarize(workers.stream()
+                .flatMap(recorders -> recorders.values().stream())
+                .toList(), elapsedSeconds);
+
+        return new LoadTestReport(Instant.now(), System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), settings, elapsedSeconds, total, operations);
+    }
+
+    private record SeededUser(String id, String email) {
+    }
+}
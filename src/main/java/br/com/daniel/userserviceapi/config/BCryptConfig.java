@@ -1,14 +1,43 @@
 package br.com.daniel.userserviceapi.config;
 
+import br.com.daniel.userserviceapi.security.PasswordProperties;
+import br.com.daniel.userserviceapi.security.TargetCostBCryptPasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 
+import java.util.Map;
+
+@Slf4j
 @Configuration
+@EnableConfigurationProperties(PasswordProperties.class)
 public class BCryptConfig {
 
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(final PasswordProperties properties) {
+        final int strength;
+        if (properties.getBcryptStrength() != null) {
+            strength = properties.getBcryptStrength();
+            log.info("Using configured BCrypt cost {} for new password hashes", strength);
+        } else {
+            strength = TargetCostBCryptPasswordEncoder.calibrate(properties.getTargetHashTime(),
+                    properties.getMinBcryptStrength(), properties.getMaxBcryptStrength());
+            log.warn("No user-service.password.bcrypt-strength configured, using cost {} calibrated for {} on this "
+                    + "instance; set it explicitly so every instance hashes with the same cost",
+                    strength, properties.getTargetHashTime());
+        }
+
+        final var bcrypt = new TargetCostBCryptPasswordEncoder(strength);
+        final var encoder = new DelegatingPasswordEncoder(properties.getEncodingId(), Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2", new Pbkdf2PasswordEncoder()
+        ));
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
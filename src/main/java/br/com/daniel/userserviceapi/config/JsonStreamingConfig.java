@@ -0,0 +1,15 @@
+package br.com.daniel.userserviceapi.config;
+
+import br.com.daniel.userserviceapi.controller.converters.UserResponseStreamHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JsonStreamingConfig {
+
+    @Bean
+    public UserResponseStreamHttpMessageConverter userResponseStreamHttpMessageConverter(final ObjectMapper objectMapper) {
+        return new UserResponseStreamHttpMessageConverter(objectMapper);
+    }
+}
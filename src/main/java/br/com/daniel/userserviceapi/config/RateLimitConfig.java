@@ -0,0 +1,25 @@
+package br.com.daniel.userserviceapi.config;
+
+import br.com.daniel.userserviceapi.ratelimit.RateLimitInterceptor;
+import br.com.daniel.userserviceapi.ratelimit.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimitProperties properties;
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        if (properties.isEnabled()) {
+            registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/users", "/api/users/**");
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package br.com.daniel.userserviceapi.controller;
 
+import br.com.daniel.userserviceapi.model.requests.VerifyPasswordRequest;
+import br.com.daniel.userserviceapi.service.UserResponseStream;
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
 import br.com.userservice.commonslib.model.exceptions.StandardError;
 import br.com.userservice.commonslib.model.requests.CreateUserRequest;
 import br.com.userservice.commonslib.model.requests.UpdateUserRequest;
@@ -13,10 +16,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Map;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -66,7 +73,44 @@ public interface UserController {
                     schema = @Schema(implementation = StandardError.class)))
     })
     @GetMapping
-    ResponseEntity<List<UserResponse>> findAll();
+    ResponseEntity<UserResponseStream> findAll();
+
+    @Operation(summary = "Find users by profile")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users found"),
+            @ApiResponse(responseCode = "400", description = "Invalid profile",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = StandardError.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server Error",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = StandardError.class)))
+    })
+    @GetMapping("/profiles/{profile}")
+    ResponseEntity<Page<UserResponse>> findByProfile(
+            @Parameter(description = "User profile", required = true, example = "ROLE_ADMIN")
+            @PathVariable final ProfileEnum profile,
+            @ParameterObject @PageableDefault(size = 20, sort = "id") final Pageable pageable
+    );
+
+    @Operation(summary = "Count users per profile")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Counts found"),
+            @ApiResponse(responseCode = "500", description = "Internal server Error",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = StandardError.class)))
+    })
+    @GetMapping("/profiles")
+    ResponseEntity<Map<ProfileEnum, Long>> countByProfile();
+
+    @Operation(summary = "Rebuild the per-profile counts from the users collection")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Counts rebuilt"),
+            @ApiResponse(responseCode = "500", description = "Internal server Error",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = StandardError.class)))
+    })
+    @PostMapping("/profiles/rebuild")
+    ResponseEntity<Void> rebuildProfileCounts();
 
     @PutMapping("/{id}")
     @Operation(summary = "Update user")
@@ -91,5 +135,19 @@ public interface UserController {
             @Valid @RequestBody final UpdateUserRequest updateUserRequest
     );
 
-
+    @Operation(summary = "Verify user password")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Password matches"),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = StandardError.class))),
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = StandardError.class)))
+    })
+    @PostMapping("/verify")
+    ResponseEntity<Void> verifyPassword(
+            @Valid @RequestBody final VerifyPasswordRequest verifyPasswordRequest
+    );
 }
@@ -0,0 +1,108 @@
+package br.com.daniel.userserviceapi.controller.converters;
+
+import br.com.daniel.userserviceapi.service.UserResponseStream;
+import br.com.userservice.commonslib.model.responses.UserResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes a {@link UserResponseStream} as a JSON array straight to the response body,
+ * one element at a time, with a writer prepared once for {@link UserResponse}. When the
+ * stream fails midway the array is left open, so clients see an invalid body instead
+ * of a shorter list that looks complete.
+ */
+public class UserResponseStreamHttpMessageConverter extends AbstractHttpMessageConverter<UserResponseStream> {
+
+    private final JsonFactory jsonFactory;
+    private final ObjectWriter elementWriter;
+
+    public UserResponseStreamHttpMessageConverter(final ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonFactory = objectMapper.getFactory();
+        this.elementWriter = objectMapper.writerFor(UserResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return UserResponseStream.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(final Class<?> clazz, final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected UserResponseStream readInternal(final Class<? extends UserResponseStream> clazz,
+                                              final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("UserResponseStream is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(final UserResponseStream stream, final HttpOutputMessage outputMessage)
+            throws IOException {
+        try (var array = new LazyJsonArray(outputMessage)) {
+            stream.forEach(array::write);
+            array.end();
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Opens the response body and the array on the first element, so a stream that fails
+     * before producing anything leaves the response untouched for the exception handler.
+     */
+    private final class LazyJsonArray implements Closeable {
+
+        private final HttpOutputMessage outputMessage;
+        private JsonGenerator generator;
+
+        private LazyJsonArray(final HttpOutputMessage outputMessage) {
+            this.outputMessage = outputMessage;
+        }
+
+        private void write(final UserResponse response) {
+            try {
+                elementWriter.writeValue(start(), response);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void end() throws IOException {
+            start().writeEndArray();
+        }
+
+        private JsonGenerator start() throws IOException {
+            if (generator == null) {
+                generator = jsonFactory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                generator.writeStartArray();
+            }
+            return generator;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (generator != null) {
+                generator.close();
+            }
+        }
+    }
+}
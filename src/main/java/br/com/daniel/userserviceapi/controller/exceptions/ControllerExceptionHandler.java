@@ -1,10 +1,14 @@
 package br.com.daniel.userserviceapi.controller.exceptions;
 
+import br.com.daniel.userserviceapi.ratelimit.TooManyRequestsException;
 import br.com.userservice.commonslib.model.exceptions.ResourceNotFoundException;
 import br.com.userservice.commonslib.model.exceptions.StandardError;
 import br.com.userservice.commonslib.model.exceptions.ValidationException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -64,4 +68,50 @@ public class ControllerExceptionHandler {
                         .build()
         );
     }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    ResponseEntity<StandardError> handlerOptimisticLockingFailureException(
+            final OptimisticLockingFailureException ex, final HttpServletRequest request
+    ){
+        return ResponseEntity.status(CONFLICT).body(
+                StandardError.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(CONFLICT.value())
+                        .error(CONFLICT.getReasonPhrase())
+                        .message(ex.getMessage())
+                        .path(request.getRequestURI())
+                        .build()
+        );
+    }
+
+    @ExceptionHandler(QueryTimeoutException.class)
+    ResponseEntity<StandardError> handlerQueryTimeoutException(
+            final QueryTimeoutException ex, final HttpServletRequest request
+    ){
+        return ResponseEntity.status(SERVICE_UNAVAILABLE).body(
+                StandardError.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(SERVICE_UNAVAILABLE.value())
+                        .error(SERVICE_UNAVAILABLE.getReasonPhrase())
+                        .message(ex.getMessage())
+                        .path(request.getRequestURI())
+                        .build()
+        );
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    ResponseEntity<StandardError> handlerTooManyRequestsException(
+            final TooManyRequestsException ex, final HttpServletRequest request
+    ){
+        return ResponseEntity.status(TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(StandardError.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(TOO_MANY_REQUESTS.value())
+                        .error(TOO_MANY_REQUESTS.getReasonPhrase())
+                        .message(ex.getMessage())
+                        .path(request.getRequestURI())
+                        .build()
+                );
+    }
 }
@@ -1,23 +1,31 @@
 package br.com.daniel.userserviceapi.controller.impl;
 
 import br.com.daniel.userserviceapi.controller.UserController;
+import br.com.daniel.userserviceapi.model.requests.VerifyPasswordRequest;
+import br.com.daniel.userserviceapi.service.PasswordVerificationService;
+import br.com.daniel.userserviceapi.service.UserResponseStream;
 import br.com.daniel.userserviceapi.service.UserService;
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
 import br.com.userservice.commonslib.model.requests.CreateUserRequest;
 import br.com.userservice.commonslib.model.requests.UpdateUserRequest;
 import br.com.userservice.commonslib.model.responses.UserResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.util.Map;
 
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 
 @RestController
 @RequiredArgsConstructor
 public class UserControllerImpl implements UserController {
 
     private final UserService userService;
+    private final PasswordVerificationService passwordVerificationService;
 
     @Override
     public ResponseEntity<UserResponse> findById(String id) {
@@ -31,12 +39,35 @@ public class UserControllerImpl implements UserController {
     }
 
     @Override
-    public ResponseEntity<List<UserResponse>> findAll() {
-        return ResponseEntity.ok().body(userService.findAll());
+    public ResponseEntity<UserResponseStream> findAll() {
+        return ResponseEntity.ok().body(userService.streamAll());
+    }
+
+    @Override
+    public ResponseEntity<Page<UserResponse>> findByProfile(final ProfileEnum profile, final Pageable pageable) {
+        return ResponseEntity.ok().body(userService.findByProfile(profile, pageable));
+    }
+
+    @Override
+    public ResponseEntity<Map<ProfileEnum, Long>> countByProfile() {
+        return ResponseEntity.ok().body(userService.countByProfile());
+    }
+
+    @Override
+    public ResponseEntity<Void> rebuildProfileCounts() {
+        userService.rebuildProfileCounts();
+        return ResponseEntity.noContent().build();
     }
 
     @Override
     public ResponseEntity<UserResponse> update(final String id, final UpdateUserRequest updateUserRequest) {
         return ResponseEntity.ok().body(userService.update(id, updateUserRequest));
     }
+
+    @Override
+    public ResponseEntity<Void> verifyPassword(final VerifyPasswordRequest verifyPasswordRequest) {
+        return passwordVerificationService.verify(verifyPasswordRequest.email(), verifyPasswordRequest.password())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(UNAUTHORIZED.value()).build();
+    }
 }
@@ -0,0 +1,19 @@
+package br.com.daniel.userserviceapi.entity;
+
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document("profile_count")
+public class ProfileCount {
+
+    @Id
+    private ProfileEnum profile;
+    private long count;
+}
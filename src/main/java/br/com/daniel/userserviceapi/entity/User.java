@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.With;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Set;
@@ -15,6 +16,8 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document
+@CompoundIndex(name = "profiles_id", def = "{ 'profiles': 1, '_id': 1 }")
+@CompoundIndex(name = "pending_events", def = "{ 'pendingEvents.version': 1 }", sparse = true)
 public class User {
 
     @Id
@@ -23,4 +26,8 @@ public class User {
     private String email;
     private String password;
     private Set<ProfileEnum> profiles;
+    /**
+     * Bumped by every write of the user, so events can be ordered per user without trusting clocks.
+     */
+    private Long version;
 }
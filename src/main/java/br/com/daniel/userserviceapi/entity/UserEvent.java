@@ -0,0 +1,50 @@
+package br.com.daniel.userserviceapi.entity;
+
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Outbox entry describing a user change. It is first written inside the user document,
+ * by the same write as the change, and then moved here by {@code UserEventOutbox}.
+ * Pending entries have no {@code publishedAt}; published ones expire through the TTL index.
+ * {@code version} is the user's version after the change and is unique per user, so
+ * consumers can order and dedupe on it.
+ */
+@With
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document("user_outbox")
+@CompoundIndex(name = "pending_order", def = "{ 'publishedAt': 1, 'occurredAt': 1, '_id': 1 }")
+@CompoundIndex(name = "user_version", def = "{ 'userId': 1, 'version': 1 }", unique = true,
+        partialFilter = "{ 'version': { '$exists': true } }")
+public class UserEvent {
+
+    @Id
+    private String id;
+    private String userId;
+    private UserEventType type;
+    private String name;
+    private String email;
+    private Set<ProfileEnum> profiles;
+    private Long version;
+    private Instant occurredAt;
+
+    @Indexed(expireAfter = "7d")
+    private Instant publishedAt;
+
+    public static UserEvent of(final UserEventType type, final User user) {
+        return new UserEvent(null, user.getId(), type, user.getName(), user.getEmail(), user.getProfiles(),
+                user.getVersion(), Instant.now(), null);
+    }
+}
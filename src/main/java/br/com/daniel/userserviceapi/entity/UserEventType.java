@@ -0,0 +1,6 @@
+package br.com.daniel.userserviceapi.entity;
+
+public enum UserEventType {
+    CREATED,
+    UPDATED
+}
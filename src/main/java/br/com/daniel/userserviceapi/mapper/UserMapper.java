@@ -1,13 +1,19 @@
 package br.com.daniel.userserviceapi.mapper;
 
 import br.com.daniel.userserviceapi.entity.User;
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
 import br.com.userservice.commonslib.model.requests.CreateUserRequest;
 import br.com.userservice.commonslib.model.requests.UpdateUserRequest;
 import br.com.userservice.commonslib.model.responses.UserResponse;
+import org.bson.Document;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import static org.mapstruct.NullValueCheckStrategy.ALWAYS;
 import static org.mapstruct.NullValuePropertyMappingStrategy.IGNORE;
 
@@ -20,8 +26,30 @@ public interface UserMapper {
     UserResponse fromEntity(final User entity);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     User fromRequest(CreateUserRequest createUserRequest);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     User update(UpdateUserRequest updateUserRequest, @MappingTarget User entity);
+
+    /**
+     * Builds the response directly from a raw user document, skipping the {@link User} entity.
+     * Profiles keep their stored order and are {@code null} when missing, as in {@link #fromEntity(User)}.
+     */
+    default UserResponse fromDocument(final Document document) {
+        final var storedProfiles = document.getList("profiles", String.class);
+        final Set<ProfileEnum> profiles = storedProfiles == null ? null : storedProfiles.stream()
+                .map(ProfileEnum::valueOf)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        final var id = document.get("_id");
+        return new UserResponse(
+                id == null ? null : id.toString(),
+                document.getString("name"),
+                document.getString("email"),
+                document.getString("password"),
+                profiles
+        );
+    }
 }
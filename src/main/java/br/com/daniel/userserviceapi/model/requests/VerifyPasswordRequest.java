@@ -0,0 +1,17 @@
+package br.com.daniel.userserviceapi.model.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
+public record VerifyPasswordRequest(
+        @Schema(description = "User email", example = "john.doe@example.com")
+        @NotBlank(message = "Email cannot be empty")
+        @Email(message = "Invalid email")
+        String email,
+
+        @Schema(description = "Raw password", example = "password123")
+        @NotBlank(message = "Password cannot be empty")
+        String password
+) {
+}
@@ -0,0 +1,41 @@
+package br.com.daniel.userserviceapi.outbox;
+
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "user-service.outbox", name = "sink", havingValue = "file")
+public class FileUserEventSink implements UserEventSink {
+
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+
+    @Override
+    public void publish(final List<UserEvent> events) {
+        final var path = properties.getFilePath().toAbsolutePath();
+        try {
+            Files.createDirectories(path.getParent());
+            try (var writer = Files.newBufferedWriter(path, UTF_8, CREATE, APPEND)) {
+                for (final var event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.daniel.userserviceapi.outbox;
+
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "user-service.outbox", name = "sink", havingValue = "log", matchIfMissing = true)
+public class LogUserEventSink implements UserEventSink {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(final List<UserEvent> events) {
+        for (final var event : events) {
+            try {
+                log.info("User event {}", objectMapper.writeValueAsString(event));
+            } catch (final JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
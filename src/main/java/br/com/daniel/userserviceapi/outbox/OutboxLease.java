@@ -0,0 +1,48 @@
+package br.com.daniel.userserviceapi.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Lease stored in Mongo that lets a single instance drain the outbox at a time. The holder
+ * renews it on every acquisition; any other instance takes over once it expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxLease {
+
+    static final String COLLECTION = "outbox_lease";
+    private static final String LEASE_ID = "user-events";
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxProperties properties;
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * @return whether this instance holds the lease until {@code now + leaseDuration}
+     */
+    public boolean tryAcquire() {
+        final var now = Instant.now();
+        final var query = query(where("_id").is(LEASE_ID)
+                .orOperator(where("owner").is(owner), where("expiresAt").lt(now)));
+        final var update = new Update()
+                .set("owner", owner)
+                .set("expiresAt", now.plus(properties.getLeaseDuration()));
+        try {
+            // Inserts the lease when missing; fails on the id when another instance holds it
+            mongoTemplate.upsert(query, update, COLLECTION);
+            return true;
+        } catch (final DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
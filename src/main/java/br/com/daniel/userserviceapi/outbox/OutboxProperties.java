@@ -0,0 +1,36 @@
+package br.com.daniel.userserviceapi.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "user-service.outbox")
+public class OutboxProperties {
+
+    /**
+     * Instances with the publisher enabled take turns through {@link OutboxLease}, so only
+     * one of them drains at a time.
+     */
+    private boolean publisherEnabled = true;
+
+    /**
+     * How long a drain owns the outbox without renewing; must exceed the time to publish a batch.
+     */
+    private Duration leaseDuration = Duration.ofSeconds(30);
+
+    private long pollIntervalMs = 1_000;
+    private int batchSize = 100;
+
+    /**
+     * Sink receiving published events: {@code log} or {@code file}.
+     */
+    private String sink = "log";
+
+    /**
+     * JSON-lines file used by the {@code file} sink.
+     */
+    private Path filePath = Path.of("user-events.jsonl");
+}
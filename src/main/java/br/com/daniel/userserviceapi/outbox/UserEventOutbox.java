@@ -0,0 +1,46 @@
+package br.com.daniel.userserviceapi.outbox;
+
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import br.com.daniel.userserviceapi.repository.UserEventRepository;
+import br.com.daniel.userserviceapi.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * Moves the events written inside user documents into {@code user_outbox}. An event is
+ * removed from its user only after it was inserted here, and the unique (userId, version)
+ * index turns a repeated move into a no-op, so a crash at any point loses nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserEventOutbox {
+
+    private final UserRepository userRepository;
+    private final UserEventRepository userEventRepository;
+
+    /**
+     * Moves the pending events of up to {@code maxUsers} users.
+     *
+     * @return the number of users whose events were moved
+     */
+    public int relayPending(final int maxUsers) {
+        final var events = userRepository.findPendingEvents(maxUsers);
+        events.forEach(this::insertIfAbsent);
+
+        final var lastVersions = events.stream()
+                .collect(Collectors.toMap(UserEvent::getUserId, UserEvent::getVersion, Math::max));
+        lastVersions.forEach(userRepository::removePendingEvents);
+        return lastVersions.size();
+    }
+
+    private void insertIfAbsent(final UserEvent event) {
+        try {
+            userEventRepository.insert(event);
+        } catch (final DuplicateKeyException e) {
+            // Moved by an earlier relay that stopped before removing it from the user
+        }
+    }
+}
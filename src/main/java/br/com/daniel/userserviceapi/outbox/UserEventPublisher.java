@@ -0,0 +1,120 @@
+package br.com.daniel.userserviceapi.outbox;
+
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import br.com.daniel.userserviceapi.repository.UserEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves the events written inside user documents into the outbox, then drains pending
+ * outbox events in occurrence order, one batch at a time. Within a batch each user's
+ * events are put back in version order, since occurrence times come from the clocks of
+ * different instances. A batch is marked as published only after the sink accepted it,
+ * and a failing batch stops the drain so later events for the same user are never
+ * delivered first. Only the instance holding the {@link OutboxLease} drains, and it
+ * renews the lease before every batch.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "user-service.outbox", name = "publisher-enabled", havingValue = "true", matchIfMissing = true)
+public class UserEventPublisher {
+
+    private final OutboxLease lease;
+    private final UserEventOutbox userEventOutbox;
+    private final UserEventRepository userEventRepository;
+    private final UserEventSink sink;
+    private final OutboxProperties properties;
+    private final Timer lagTimer;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final AtomicLong pending;
+
+    public UserEventPublisher(final OutboxLease lease, final UserEventOutbox userEventOutbox,
+                              final UserEventRepository userEventRepository, final UserEventSink sink,
+                              final OutboxProperties properties, final MeterRegistry meterRegistry) {
+        this.lease = lease;
+        this.userEventOutbox = userEventOutbox;
+        this.userEventRepository = userEventRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.lagTimer = Timer.builder("user.outbox.lag")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.publishedCounter = meterRegistry.counter("user.outbox.published");
+        this.failureCounter = meterRegistry.counter("user.outbox.failures");
+        this.pending = meterRegistry.gauge("user.outbox.pending", new AtomicLong());
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.outbox.poll-interval-ms:1000}")
+    public void drain() {
+        if (!lease.tryAcquire()) {
+            return;
+        }
+
+        int relayedUsers;
+        do {
+            relayedUsers = userEventOutbox.relayPending(properties.getBatchSize());
+        } while (relayedUsers == properties.getBatchSize());
+
+        final var page = PageRequest.of(0, properties.getBatchSize());
+
+        while (true) {
+            final var pendingEvents = userEventRepository.findByPublishedAtIsNullOrderByOccurredAtAscIdAsc(page);
+            if (pendingEvents.isEmpty()) {
+                break;
+            }
+            final var batch = inVersionOrder(pendingEvents);
+
+            try {
+                sink.publish(batch);
+            } catch (final RuntimeException e) {
+                failureCounter.increment();
+                log.warn("Failed to publish {} user events, retrying on next poll", batch.size(), e);
+                break;
+            }
+
+            final var publishedAt = Instant.now();
+            userEventRepository.markPublished(batch.stream().map(UserEvent::getId).toList(), publishedAt);
+            batch.forEach(event -> lagTimer.record(Duration.between(event.getOccurredAt(), publishedAt)));
+            publishedCounter.increment(batch.size());
+
+            if (batch.size() < properties.getBatchSize() || !lease.tryAcquire()) {
+                break;
+            }
+        }
+        pending.set(userEventRepository.countByPublishedAtIsNull());
+    }
+
+    /**
+     * Sorts each user's events by version while keeping the positions those events take
+     * in the batch, so the interleaving between users is left as read.
+     */
+    static List<UserEvent> inVersionOrder(final List<UserEvent> batch) {
+        final var byUser = new HashMap<String, List<UserEvent>>();
+        batch.forEach(event -> byUser.computeIfAbsent(event.getUserId(), userId -> new ArrayList<>()).add(event));
+
+        final var versionOrder = new HashMap<String, Iterator<UserEvent>>();
+        byUser.forEach((userId, events) -> {
+            events.sort(Comparator.comparing(UserEvent::getVersion, Comparator.nullsFirst(Comparator.naturalOrder())));
+            versionOrder.put(userId, events.iterator());
+        });
+        return batch.stream()
+                .map(event -> versionOrder.get(event.getUserId()).next())
+                .toList();
+    }
+}
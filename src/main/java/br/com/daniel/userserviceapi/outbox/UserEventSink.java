@@ -0,0 +1,16 @@
+package br.com.daniel.userserviceapi.outbox;
+
+import br.com.daniel.userserviceapi.entity.UserEvent;
+
+import java.util.List;
+
+/**
+ * Destination of outbox events. Batches arrive in occurrence order, with each user's
+ * events in version order, and a batch is retried as a whole when this method throws,
+ * so delivery is at-least-once. Consumers dedupe on {@code (userId, version)} and
+ * ignore versions lower than the last one they applied for that user.
+ */
+public interface UserEventSink {
+
+    void publish(final List<UserEvent> events);
+}
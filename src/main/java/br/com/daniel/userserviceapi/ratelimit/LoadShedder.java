@@ -0,0 +1,114 @@
+package br.com.daniel.userserviceapi.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive admission control: every request is rejected once the in-flight count
+ * reaches its limit, and an expensive endpoint is rejected while its own smoothed
+ * latency stays above the configured threshold. The average decays while no
+ * request completes and one probe request is admitted per probe interval, so an
+ * endpoint recovers even when all of its traffic is being shed.
+ */
+@Component
+public class LoadShedder {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final AtomicInteger inFlight;
+    private final ConcurrentMap<String, EndpointLatency> latencies = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoadShedder(final RateLimitProperties properties, final MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    LoadShedder(final RateLimitProperties properties, final MeterRegistry meterRegistry, final LongSupplier clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.inFlight = meterRegistry.gauge("user.api.requests.in-flight", new AtomicInteger());
+    }
+
+    public boolean shouldShed(final String endpoint) {
+        final var shedding = properties.getShedding();
+        if (inFlight.get() >= shedding.getMaxInFlight()) {
+            return true;
+        }
+        if (!properties.budgetFor(endpoint).isExpensive()) {
+            return false;
+        }
+        final var latency = latencies.get(endpoint);
+        return latency != null && latency.shouldShed(clock.getAsLong(), shedding);
+    }
+
+    public void enter() {
+        inFlight.incrementAndGet();
+    }
+
+    public void exit(final String endpoint, final long elapsedNanos) {
+        inFlight.decrementAndGet();
+        latencies.computeIfAbsent(endpoint, this::register)
+                .record(elapsedNanos, clock.getAsLong(), properties.getShedding());
+    }
+
+    private EndpointLatency register(final String endpoint) {
+        final var latency = new EndpointLatency(clock.getAsLong());
+        Gauge.builder("user.api.requests.latency.smoothed", latency,
+                        value -> value.decayedNanos(clock.getAsLong(), properties.getShedding()) / 1_000_000d)
+                .tag("endpoint", endpoint)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return latency;
+    }
+
+    private static final class EndpointLatency {
+
+        private final AtomicReference<Sample> sample = new AtomicReference<>();
+        private final AtomicLong lastProbe;
+
+        private EndpointLatency(final long now) {
+            this.lastProbe = new AtomicLong(now);
+        }
+
+        private double decayedNanos(final long now, final RateLimitProperties.Shedding shedding) {
+            final var current = sample.get();
+            return current == null ? 0 : current.decayedNanos(now, shedding.getDecayHalfLife().toNanos());
+        }
+
+        private boolean shouldShed(final long now, final RateLimitProperties.Shedding shedding) {
+            if (decayedNanos(now, shedding) <= shedding.getLatencyThreshold().toNanos()) {
+                return false;
+            }
+            final long previousProbe = lastProbe.get();
+            final boolean probe = now - previousProbe >= shedding.getProbeInterval().toNanos()
+                    && lastProbe.compareAndSet(previousProbe, now);
+            return !probe;
+        }
+
+        private void record(final long elapsedNanos, final long now, final RateLimitProperties.Shedding shedding) {
+            final double alpha = shedding.getLatencySmoothing();
+            final long halfLife = shedding.getDecayHalfLife().toNanos();
+            sample.getAndUpdate(current -> new Sample(current == null
+                    ? elapsedNanos
+                    : alpha * elapsedNanos + (1 - alpha) * current.decayedNanos(now, halfLife), now));
+        }
+    }
+
+    private record Sample(double smoothedNanos, long updatedAt) {
+
+        private double decayedNanos(final long now, final long halfLifeNanos) {
+            return smoothedNanos * Math.pow(0.5, (double) Math.max(0, now - updatedAt) / halfLifeNanos);
+        }
+    }
+}
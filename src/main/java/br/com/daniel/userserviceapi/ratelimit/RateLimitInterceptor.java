@@ -0,0 +1,68 @@
+package br.com.daniel.userserviceapi.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT = RateLimitInterceptor.class.getName() + ".startedAt";
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        final var endpoint = handlerMethod.getMethod().getName();
+
+        if (loadShedder.shouldShed(endpoint)) {
+            throw reject(endpoint, "overload", properties.getShedding().getRetryAfter().toSeconds());
+        }
+
+        final long waitNanos = rateLimiter.tryAcquire(clientId(request), endpoint);
+        if (waitNanos > 0) {
+            throw reject(endpoint, "rate_limit", TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        }
+
+        loadShedder.enter();
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception ex) {
+        if (request.getAttribute(STARTED_AT) instanceof Long startedAt
+                && handler instanceof HandlerMethod handlerMethod) {
+            loadShedder.exit(handlerMethod.getMethod().getName(), System.nanoTime() - startedAt);
+        }
+    }
+
+    private TooManyRequestsException reject(final String endpoint, final String reason, final long retryAfterSeconds) {
+        meterRegistry.counter("user.api.requests.rejected", "endpoint", endpoint, "reason", reason).increment();
+        return new TooManyRequestsException(
+                "Too many requests to [" + endpoint + "], retry after " + retryAfterSeconds + "s", Math.max(1, retryAfterSeconds));
+    }
+
+    private String clientId(final HttpServletRequest request) {
+        final var header = properties.getTrustedClientIdHeader();
+        if (header == null || header.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        final var clientId = request.getHeader(header);
+        return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+    }
+}
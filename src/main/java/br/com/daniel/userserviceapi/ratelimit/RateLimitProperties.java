@@ -0,0 +1,77 @@
+package br.com.daniel.userserviceapi.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "user-service.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Header identifying the calling client, only to be set when a trusted gateway
+     * overwrites it; clients are otherwise identified by their remote address.
+     */
+    private String trustedClientIdHeader;
+
+    /**
+     * Number of tracked buckets above which idle buckets are evicted before adding a new one;
+     * new clients are rejected while none of the sampled buckets is idle.
+     */
+    private int maxTrackedBuckets = 10_000;
+
+    private Budget defaultBudget = new Budget(100, 50, false);
+
+    /**
+     * Budgets keyed by controller method name (findAll, save, findById...).
+     */
+    private Map<String, Budget> endpoints = new HashMap<>();
+
+    private Shedding shedding = new Shedding();
+
+    public Budget budgetFor(final String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultBudget);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+        private long capacity;
+        private double refillPerSecond;
+
+        /**
+         * Expensive endpoints are the first ones shed when latency degrades.
+         */
+        private boolean expensive;
+    }
+
+    @Data
+    public static class Shedding {
+        /**
+         * Only requests on servlet threads are counted, so this must stay below
+         * {@code server.tomcat.threads.max} to ever take effect.
+         */
+        private int maxInFlight = 160;
+        private Duration latencyThreshold = Duration.ofMillis(500);
+        private double latencySmoothing = 0.2;
+
+        /**
+         * Half-life of the smoothed latency while no request completes on the endpoint.
+         */
+        private Duration decayHalfLife = Duration.ofSeconds(5);
+
+        /**
+         * One request per interval is let through a shed endpoint to measure it again.
+         */
+        private Duration probeInterval = Duration.ofSeconds(1);
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
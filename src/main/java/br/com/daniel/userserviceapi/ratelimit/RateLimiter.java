@@ -0,0 +1,73 @@
+package br.com.daniel.userserviceapi.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+@Component
+public class RateLimiter {
+
+    /**
+     * Upper bound of buckets inspected per eviction, keeping the admission path O(1).
+     */
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final RateLimitProperties properties;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    @Autowired
+    public RateLimiter(final RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(final RateLimitProperties properties, final LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * @return {@code 0} when admitted, otherwise the nanoseconds the client should wait
+     */
+    public long tryAcquire(final String clientId, final String endpoint) {
+        final var key = clientId + '|' + endpoint;
+        var bucket = buckets.get(key);
+
+        if (bucket == null) {
+            // Every tracked client is still throttled or refilling, so dropping one would reset its budget
+            if (buckets.size() >= properties.getMaxTrackedBuckets() && !evictIdle()) {
+                return properties.getShedding().getRetryAfter().toNanos();
+            }
+            bucket = buckets.computeIfAbsent(key, ignored -> {
+                final var budget = properties.budgetFor(endpoint);
+                return new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond(), clock);
+            });
+        }
+        return bucket.tryAcquire();
+    }
+
+    int trackedBuckets() {
+        return buckets.size();
+    }
+
+    /**
+     * Removes the idle buckets among a small sample.
+     *
+     * @return whether any bucket was removed
+     */
+    private boolean evictIdle() {
+        var removed = false;
+        var inspected = 0;
+
+        for (final var iterator = buckets.values().iterator(); iterator.hasNext() && inspected < EVICTION_SAMPLE; inspected++) {
+            if (iterator.next().isIdle()) {
+                iterator.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.daniel.userserviceapi.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket expressed as a generic cell rate algorithm: the whole
+ * bucket state is a single "theoretical arrival time" updated with CAS, so
+ * concurrent requests for the same client never block each other.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(final long capacity, final double refillPerSecond, final LongSupplier clock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.clock = clock;
+        this.theoreticalArrivalTime = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return {@code 0} when the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire() {
+        while (true) {
+            final long now = clock.getAsLong();
+            final long current = theoreticalArrivalTime.get();
+            final long next = Math.max(current, now) + emissionIntervalNanos;
+            final long waitNanos = next - now - burstToleranceNanos;
+
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has refilled completely, so dropping it is indistinguishable from keeping it.
+     */
+    public boolean isIdle() {
+        return theoreticalArrivalTime.get() <= clock.getAsLong();
+    }
+}
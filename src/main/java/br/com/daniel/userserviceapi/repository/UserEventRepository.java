@@ -0,0 +1,24 @@
+package br.com.daniel.userserviceapi.repository;
+
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserEventRepository extends MongoRepository<UserEvent, String> {
+
+    List<UserEvent> findByPublishedAtIsNullOrderByOccurredAtAscIdAsc(final Pageable pageable);
+
+    long countByPublishedAtIsNull();
+
+    @Query("{ '_id': { '$in': ?0 } }")
+    @Update("{ '$set': { 'publishedAt': ?1 } }")
+    long markPublished(final Collection<String> ids, final Instant publishedAt);
+}
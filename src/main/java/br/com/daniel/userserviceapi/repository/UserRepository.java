@@ -1,14 +1,27 @@
 package br.com.daniel.userserviceapi.repository;
 
 import br.com.daniel.userserviceapi.entity.User;
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
     Optional<User> findByEmail(final String email);
 
     void deleteByEmail(String validEmail);
+
+    Page<User> findByProfiles(final ProfileEnum profile, final Pageable pageable);
+
+    long countByProfiles(final ProfileEnum profile);
+
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 } }")
+    long updatePasswordIfUnchanged(final String id, final String currentPassword, final String newPassword);
 }
@@ -0,0 +1,42 @@
+package br.com.daniel.userserviceapi.repository;
+
+import br.com.daniel.userserviceapi.entity.User;
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import org.bson.Document;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Iterates over the raw user documents with a server cursor, closing it when done.
+     */
+    void forEachDocument(final Consumer<Document> action);
+
+    /**
+     * Inserts the user with {@code event} as its pending event, in a single write.
+     *
+     * @return the user with its generated id
+     */
+    User insertWithEvent(final User user, final UserEvent event);
+
+    /**
+     * Overwrites the user's fields and version and appends {@code event} to its pending events,
+     * in a single atomic write that only applies while the stored version is {@code expectedVersion}.
+     *
+     * @return the document as it was right before this write, or {@code null} when the user no longer
+     * exists or was modified since {@code expectedVersion} was read
+     */
+    User updateReturningPrevious(final User user, final Long expectedVersion, final UserEvent event);
+
+    /**
+     * Pending events of up to {@code limit} users, in version order for each user.
+     */
+    List<UserEvent> findPendingEvents(final int limit);
+
+    /**
+     * Removes the user's pending events up to and including {@code version}.
+     */
+    void removePendingEvents(final String userId, final long version);
+}
@@ -0,0 +1,85 @@
+package br.com.daniel.userserviceapi.repository;
+
+import br.com.daniel.userserviceapi.entity.User;
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import com.mongodb.client.model.Projections;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final int CURSOR_BATCH_SIZE = 1_000;
+    private static final String PENDING_EVENTS = "pendingEvents";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void forEachDocument(final Consumer<Document> action) {
+        mongoTemplate.getCollection(collectionName())
+                .find()
+                .projection(Projections.include("name", "email", "password", "profiles"))
+                .batchSize(CURSOR_BATCH_SIZE)
+                .forEach(action);
+    }
+
+    @Override
+    public User insertWithEvent(final User user, final UserEvent event) {
+        final var document = new Document();
+        mongoTemplate.getConverter().write(user, document);
+        document.put(PENDING_EVENTS, List.of(toDocument(event)));
+
+        final var inserted = mongoTemplate.insert(document, collectionName());
+        return user.withId(inserted.get("_id").toString());
+    }
+
+    @Override
+    public User updateReturningPrevious(final User user, final Long expectedVersion, final UserEvent event) {
+        final var update = new Update()
+                .set("name", user.getName())
+                .set("email", user.getEmail())
+                .set("password", user.getPassword())
+                .set("profiles", user.getProfiles())
+                .set("version", user.getVersion())
+                .push(PENDING_EVENTS, toDocument(event));
+        return mongoTemplate.findAndModify(
+                query(where("_id").is(user.getId()).and("version").is(expectedVersion)), update, User.class);
+    }
+
+    @Override
+    public List<UserEvent> findPendingEvents(final int limit) {
+        final var query = query(where(PENDING_EVENTS + ".version").exists(true)).limit(limit);
+        query.fields().include(PENDING_EVENTS);
+
+        return mongoTemplate.find(query, Document.class, collectionName()).stream()
+                .flatMap(user -> user.getList(PENDING_EVENTS, Document.class).stream()
+                        .map(event -> mongoTemplate.getConverter().read(UserEvent.class, event)
+                                .withUserId(user.get("_id").toString())))
+                .toList();
+    }
+
+    @Override
+    public void removePendingEvents(final String userId, final long version) {
+        final var update = new Update()
+                .pull(PENDING_EVENTS, new Document("version", new Document("$lte", version)));
+        mongoTemplate.updateFirst(query(where("_id").is(userId)), update, User.class);
+    }
+
+    private Document toDocument(final UserEvent event) {
+        final var document = new Document();
+        mongoTemplate.getConverter().write(event, document);
+        return document;
+    }
+
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(User.class);
+    }
+}
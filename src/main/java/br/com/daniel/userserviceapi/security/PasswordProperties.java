@@ -0,0 +1,29 @@
+package br.com.daniel.userserviceapi.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "user-service.password")
+public class PasswordProperties {
+
+    /**
+     * Id of the encoder used for new hashes; hashes with another id are upgraded on successful verification.
+     */
+    private String encodingId = "bcrypt";
+
+    /**
+     * Target time for one hash, used to calibrate the BCrypt cost at startup when no fixed cost is set.
+     */
+    private Duration targetHashTime = Duration.ofMillis(250);
+
+    /**
+     * Fleet-wide BCrypt cost; when set, calibration is skipped. Stored hashes below it are upgraded on login.
+     */
+    private Integer bcryptStrength;
+
+    private int minBcryptStrength = 10;
+    private int maxBcryptStrength = 16;
+}
@@ -0,0 +1,75 @@
+package br.com.daniel.userserviceapi.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that asks for an upgrade only when the stored cost is below the
+ * configured one. Instances running with different costs therefore only ever
+ * ratchet hashes up and never rehash the same user back and forth.
+ */
+public class TargetCostBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_WARMUP_STRENGTH = 8;
+    private static final int CALIBRATION_WARMUP_ROUNDS = 5;
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final int strength;
+
+    public TargetCostBCryptPasswordEncoder(final int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        final var matcher = COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    /**
+     * Picks the highest cost in range whose hash time stays within the target. The
+     * hashing code is warmed up first and each cost keeps its fastest sample, so a
+     * cold JIT does not push the result down. Each cost step doubles the work, so
+     * probing stops once the next step would overshoot.
+     */
+    public static int calibrate(final Duration targetHashTime, final int minStrength, final int maxStrength) {
+        final var warmup = new BCryptPasswordEncoder(CALIBRATION_WARMUP_STRENGTH);
+        for (int round = 0; round < CALIBRATION_WARMUP_ROUNDS; round++) {
+            warmup.encode(CALIBRATION_PASSWORD);
+        }
+
+        final long targetNanos = targetHashTime.toNanos();
+        int strength = minStrength;
+
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            final long elapsed = fastestHashNanos(new BCryptPasswordEncoder(candidate));
+
+            if (elapsed > targetNanos) {
+                break;
+            }
+            strength = candidate;
+            if (elapsed * 2 > targetNanos) {
+                break;
+            }
+        }
+        return strength;
+    }
+
+    private static long fastestHashNanos(final BCryptPasswordEncoder encoder) {
+        long fastest = Long.MAX_VALUE;
+        for (int sample = 0; sample < CALIBRATION_SAMPLES; sample++) {
+            final long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return fastest;
+    }
+}
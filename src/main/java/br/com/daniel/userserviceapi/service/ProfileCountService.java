@@ -0,0 +1,84 @@
+package br.com.daniel.userserviceapi.service;
+
+import br.com.daniel.userserviceapi.entity.ProfileCount;
+import br.com.daniel.userserviceapi.repository.UserRepository;
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Keeps one counter document per profile, updated with $inc on every user write,
+ * so dashboard counts read a handful of documents instead of scanning users.
+ * A delta lost between a user write and its counter update is repaired by the
+ * scheduled (or admin-triggered) rebuild.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProfileCountService {
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+
+    public Map<ProfileEnum, Long> counts() {
+        final var counts = new EnumMap<ProfileEnum, Long>(ProfileEnum.class);
+        for (final var profile : ProfileEnum.values()) {
+            counts.put(profile, 0L);
+        }
+        mongoTemplate.findAll(ProfileCount.class)
+                .forEach(profileCount -> counts.put(profileCount.getProfile(), profileCount.getCount()));
+        return counts;
+    }
+
+    public void applyChange(final Set<ProfileEnum> previousProfiles, final Set<ProfileEnum> currentProfiles) {
+        final var deltas = deltas(previousProfiles, currentProfiles);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        final var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProfileCount.class);
+        deltas.forEach((profile, delta) ->
+                bulk.upsert(query(where("_id").is(profile)), new Update().inc("count", delta)));
+        bulk.execute();
+    }
+
+    /**
+     * Recomputes every counter from the users collection with the profiles index.
+     */
+    @Scheduled(cron = "${user-service.profile-count.rebuild-cron:0 0 3 * * *}")
+    public void rebuild() {
+        for (final var profile : ProfileEnum.values()) {
+            mongoTemplate.upsert(query(where("_id").is(profile)),
+                    new Update().set("count", userRepository.countByProfiles(profile)), ProfileCount.class);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        if (mongoTemplate.estimatedCount(ProfileCount.class) == 0) {
+            rebuild();
+        }
+    }
+
+    static Map<ProfileEnum, Integer> deltas(final Set<ProfileEnum> previousProfiles, final Set<ProfileEnum> currentProfiles) {
+        final var previous = previousProfiles == null ? Set.<ProfileEnum>of() : previousProfiles;
+        final var current = currentProfiles == null ? Set.<ProfileEnum>of() : currentProfiles;
+        final var deltas = new EnumMap<ProfileEnum, Integer>(ProfileEnum.class);
+
+        previous.stream().filter(profile -> !current.contains(profile)).forEach(profile -> deltas.put(profile, -1));
+        current.stream().filter(profile -> !previous.contains(profile)).forEach(profile -> deltas.put(profile, 1));
+        return deltas;
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.daniel.userserviceapi.service;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the loader
+ * and every caller arriving while it is in flight shares its result. Followers
+ * wait at most {@code maxWait} and then fail with a {@link QueryTimeoutException}
+ * instead of loading on their own, so a slow call is never multiplied by its waiters.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+
+    public SingleFlight(final Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public V execute(final K key, final Supplier<V> loader) {
+        if (key == null) {
+            return loader.get();
+        }
+
+        final var call = new CompletableFuture<V>();
+        final var leader = inFlight.putIfAbsent(key, call);
+
+        if (leader == null) {
+            return lead(key, call, loader);
+        }
+
+        try {
+            return leader.get(maxWait.toMillis(), MILLISECONDS);
+        } catch (final TimeoutException e) {
+            throw new QueryTimeoutException("Call for [" + key + "] still in flight after " + maxWait.toMillis() + "ms", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Detaches the call in flight for the key, if any, so callers arriving afterwards
+     * start a new one. Used after a write so a read issued after it never joins a
+     * call that started before it.
+     */
+    public void forget(final K key) {
+        if (key != null) {
+            inFlight.remove(key);
+        }
+    }
+
+    private V lead(final K key, final CompletableFuture<V> call, final Supplier<V> loader) {
+        try {
+            final var value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (final RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+}
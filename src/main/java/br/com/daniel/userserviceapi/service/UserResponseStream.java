@@ -0,0 +1,15 @@
+package br.com.daniel.userserviceapi.service;
+
+import br.com.userservice.commonslib.model.responses.UserResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * Lazily produced sequence of responses. Nothing is read until {@link #forEach} runs,
+ * and each response is handed over as soon as its document is decoded.
+ */
+@FunctionalInterface
+public interface UserResponseStream {
+
+    void forEach(final Consumer<UserResponse> action);
+}
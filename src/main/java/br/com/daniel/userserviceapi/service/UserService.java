@@ -1,18 +1,27 @@
 package br.com.daniel.userserviceapi.service;
 
 import br.com.daniel.userserviceapi.entity.User;
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import br.com.daniel.userserviceapi.entity.UserEventType;
 import br.com.daniel.userserviceapi.mapper.UserMapper;
 import br.com.daniel.userserviceapi.repository.UserRepository;
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
 import br.com.userservice.commonslib.model.exceptions.ResourceNotFoundException;
 import br.com.userservice.commonslib.model.requests.CreateUserRequest;
 import br.com.userservice.commonslib.model.requests.UpdateUserRequest;
 import br.com.userservice.commonslib.model.responses.UserResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
@@ -20,46 +29,107 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordEncoder encoder;
+    private final ProfileCountService profileCountService;
+
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
+    private static final Duration COALESCING_MAX_WAIT = Duration.ofSeconds(2);
+    private final SingleFlight<String, UserResponse> findByIdFlight = new SingleFlight<>(COALESCING_MAX_WAIT);
+    private final SingleFlight<String, Optional<User>> findByEmailFlight = new SingleFlight<>(COALESCING_MAX_WAIT);
 
     public UserResponse findById(String id) {
-        return  userMapper.fromEntity(find(id));
+        return findByIdFlight.execute(id, () -> userMapper.fromEntity(find(id)));
     }
 
     public void save(CreateUserRequest createUserRequest) {
         verifyIfEmailAlreadyExists(createUserRequest.email(), null);
-        userRepository
-                .save(userMapper.fromRequest(createUserRequest)
-                        .withPassword(encoder.encode(createUserRequest.password())));
+        final var user = userMapper.fromRequest(createUserRequest)
+                .withPassword(encoder.encode(createUserRequest.password()))
+                .withVersion(0L);
+        // The event is stored with the user itself, so one is never written without the other
+        final var saved = userRepository.insertWithEvent(user, UserEvent.of(UserEventType.CREATED, user));
+        findByEmailFlight.forget(createUserRequest.email());
+        profileCountService.applyChange(Set.of(), saved.getProfiles());
     }
 
     public UserResponse update(String id, UpdateUserRequest updateUserRequest) {
+        for (int attempt = 1; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            final var response = tryUpdate(id, updateUserRequest);
+            if (response.isPresent()) {
+                return response.get();
+            }
+        }
+        return tryUpdate(id, updateUserRequest).orElseThrow(() ->
+                new OptimisticLockingFailureException("User [" + id + "] was modified concurrently, try again."));
+    }
+
+    /**
+     * Applies the update over the version just read, together with its event.
+     *
+     * @return empty when another write changed the user in between
+     */
+    private Optional<UserResponse> tryUpdate(String id, UpdateUserRequest updateUserRequest) {
         User user = find(id);
+        final var readVersion = user.getVersion();
         verifyIfEmailAlreadyExists(updateUserRequest.email(), id);
-        return userMapper.fromEntity(userRepository.save(
-                userMapper.update(updateUserRequest, user).withPassword(updateUserRequest.password() != null ?
-                        encoder.encode(updateUserRequest.password()) : user.getPassword())
-        ));
+        final var updated = userMapper.update(updateUserRequest, user).withPassword(updateUserRequest.password() != null ?
+                encoder.encode(updateUserRequest.password()) : user.getPassword())
+                .withVersion(readVersion == null ? 1L : readVersion + 1);
+
+        // Deltas come from the state this write replaced, so concurrent updates never apply the same one twice
+        final var previous = userRepository.updateReturningPrevious(updated, readVersion,
+                UserEvent.of(UserEventType.UPDATED, updated));
+        if (previous == null) {
+            return Optional.empty();
+        }
+        forgetInFlightLookups(id, previous.getEmail(), updated.getEmail());
+        profileCountService.applyChange(previous.getProfiles(), updated.getProfiles());
+        return Optional.of(userMapper.fromEntity(updated));
+    }
+
+    private void forgetInFlightLookups(final String id, final String previousEmail, final String currentEmail) {
+        findByIdFlight.forget(id);
+        findByEmailFlight.forget(previousEmail);
+        findByEmailFlight.forget(currentEmail);
     }
 
     private void verifyIfEmailAlreadyExists(final String email, final String id) {
-        userRepository.findByEmail(email)
+        findByEmailFlight.execute(email, () -> userRepository.findByEmail(email))
                 .filter(user -> !user.getId().equals(id))
                 .ifPresent(user -> {
                     throw new DataIntegrityViolationException("Email ["+email+"] already exists.");
                 });
     }
 
-    public List<UserResponse> findAll() {
-        return userRepository.findAll().stream()
-                .map(userMapper::fromEntity)
-                .toList();
+    /**
+     * All users, with responses produced while the cursor is read, so neither the entities
+     * nor the full response list are ever held in memory.
+     */
+    public UserResponseStream streamAll() {
+        return action -> userRepository.forEachDocument(document -> action.accept(userMapper.fromDocument(document)));
+    }
+
+    public Page<UserResponse> findByProfile(final ProfileEnum profile, final Pageable pageable) {
+        return userRepository.findByProfiles(profile, pageable).map(userMapper::fromEntity);
+    }
+
+    public Map<ProfileEnum, Long> countByProfile() {
+        return profileCountService.counts();
+    }
+
+    public void rebuildProfileCounts() {
+        profileCountService.rebuild();
     }
 
     private User find(String id) {
         return userRepository
                 .findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Object not Found. id" + id + ", Type: " +UserResponse.class.getSimpleName()));
+                .orElseThrow(() -> notFound(id));
+    }
+
+    private ResourceNotFoundException notFound(String id) {
+        return new ResourceNotFoundException("Object not Found. id" + id + ", Type: " +UserResponse.class.getSimpleName());
     }
 
 }
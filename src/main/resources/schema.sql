@@ -33,6 +33,20 @@ db.createCollection('user', {
 
 db.users.createIndex({ email: 1 }, { unique: true });
 
+db.user.createIndex({ profiles: 1, _id: 1 }, { name: 'profiles_id' });
+
+db.user.createIndex({ 'pendingEvents.version': 1 }, { name: 'pending_events', sparse: true });
+
+db.user_outbox.createIndex({ publishedAt: 1, occurredAt: 1, _id: 1 }, { name: 'pending_order' });
+
+db.user_outbox.createIndex({ publishedAt: 1 }, { expireAfterSeconds: 604800 });
+
+db.user_outbox.createIndex({ userId: 1, version: 1 }, {
+    name: 'user_version',
+    unique: true,
+    partialFilterExpression: { version: { $exists: true } }
+});
+
 db.users.insertOne({
     _id: ObjectId("6137f7d4b0b1c65d18a3a5a1"),
     name: "John Doe",
@@ -0,0 +1,79 @@
+package br.com.daniel.userserviceapi.controller.converters;
+
+import br.com.daniel.userserviceapi.service.UserResponseStream;
+import br.com.userservice.commonslib.model.responses.UserResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+
+import static br.com.daniel.userserviceapi.creator.CreatorUtils.generateMock;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserResponseStreamHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UserResponseStreamHttpMessageConverter converter = new UserResponseStreamHttpMessageConverter(objectMapper);
+
+    @Test
+    void whenWriteStreamThenProduceSameJsonAsList() throws Exception {
+        final var responses = List.of(generateMock(UserResponse.class), generateMock(UserResponse.class));
+        final UserResponseStream stream = responses::forEach;
+        final var outputMessage = new MockHttpOutputMessage();
+
+        converter.write(stream, MediaType.APPLICATION_JSON, outputMessage);
+
+        assertEquals(objectMapper.writeValueAsString(responses), outputMessage.getBodyAsString());
+        assertEquals(MediaType.APPLICATION_JSON, outputMessage.getHeaders().getContentType());
+    }
+
+    @Test
+    void whenWriteEmptyStreamThenProduceEmptyArray() throws Exception {
+        final var outputMessage = new MockHttpOutputMessage();
+
+        converter.write(action -> { }, MediaType.APPLICATION_JSON, outputMessage);
+
+        assertEquals("[]", outputMessage.getBodyAsString());
+    }
+
+    @Test
+    void whenStreamFailsMidwayThenPropagateAndLeaveArrayOpen() {
+        final var response = generateMock(UserResponse.class);
+        final UserResponseStream stream = action -> {
+            action.accept(response);
+            throw new IllegalStateException("cursor lost");
+        };
+        final var outputMessage = new MockHttpOutputMessage();
+
+        assertThrows(IllegalStateException.class,
+                () -> converter.write(stream, MediaType.APPLICATION_JSON, outputMessage));
+
+        final var body = outputMessage.getBodyAsString();
+        assertTrue(body.startsWith("["));
+        assertFalse(body.endsWith("]"));
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readTree(body));
+    }
+
+    @Test
+    void whenStreamFailsBeforeFirstElementThenPropagateWithoutWritingBody() {
+        final UserResponseStream stream = action -> {
+            throw new IllegalStateException("cursor could not be opened");
+        };
+        final var outputMessage = new MockHttpOutputMessage();
+
+        assertThrows(IllegalStateException.class,
+                () -> converter.write(stream, MediaType.APPLICATION_JSON, outputMessage));
+
+        assertEquals("", outputMessage.getBodyAsString());
+    }
+
+    @Test
+    void whenCheckTypesThenOnlyWriteUserResponseStream() {
+        assertTrue(converter.canWrite(UserResponseStream.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(UserResponseStream.class, MediaType.APPLICATION_JSON));
+    }
+}
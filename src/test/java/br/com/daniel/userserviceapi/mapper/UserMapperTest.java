@@ -0,0 +1,50 @@
+package br.com.daniel.userserviceapi.mapper;
+
+import br.com.daniel.userserviceapi.entity.User;
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static br.com.daniel.userserviceapi.creator.CreatorUtils.generateMock;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserMapperTest {
+
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    @Test
+    void whenFromDocumentThenSameResponseAsFromEntity() {
+        final var profiles = new LinkedHashSet<ProfileEnum>(List.of(ProfileEnum.values()).reversed());
+        final var user = generateMock(User.class).withId(new ObjectId().toHexString()).withProfiles(profiles);
+        final var document = new Document("_id", new ObjectId(user.getId()))
+                .append("name", user.getName())
+                .append("email", user.getEmail())
+                .append("password", user.getPassword())
+                .append("profiles", profiles.stream().map(ProfileEnum::name).toList());
+
+        final var response = userMapper.fromDocument(document);
+
+        assertEquals(userMapper.fromEntity(user), response);
+        assertEquals(List.copyOf(profiles), List.copyOf(response.profiles()));
+    }
+
+    @Test
+    void whenFromDocumentWithoutProfilesThenProfilesAreNull() {
+        final var user = generateMock(User.class).withProfiles(null);
+        final var document = new Document("_id", user.getId())
+                .append("name", user.getName())
+                .append("email", user.getEmail())
+                .append("password", user.getPassword());
+
+        final Set<ProfileEnum> profiles = userMapper.fromDocument(document).profiles();
+
+        assertNull(profiles);
+        assertNull(userMapper.fromEntity(user).profiles());
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.daniel.userserviceapi.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxLeaseTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void whenLeaseFreeOrOwnedThenAcquire() {
+        final var lease = new OutboxLease(mongoTemplate, new OutboxProperties());
+
+        assertTrue(lease.tryAcquire());
+        verify(mongoTemplate).upsert(any(Query.class), any(UpdateDefinition.class), eq(OutboxLease.COLLECTION));
+    }
+
+    @Test
+    void whenLeaseHeldByAnotherInstanceThenDoNotAcquire() {
+        final var lease = new OutboxLease(mongoTemplate, new OutboxProperties());
+
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), eq(OutboxLease.COLLECTION)))
+                .thenThrow(new DuplicateKeyException("_id"));
+
+        assertFalse(lease.tryAcquire());
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.daniel.userserviceapi.outbox;
+
+import br.com.daniel.userserviceapi.entity.User;
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import br.com.daniel.userserviceapi.entity.UserEventType;
+import br.com.daniel.userserviceapi.repository.UserEventRepository;
+import br.com.daniel.userserviceapi.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+
+import static br.com.daniel.userserviceapi.creator.CreatorUtils.generateMock;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventOutboxTest {
+
+    @InjectMocks
+    private UserEventOutbox userEventOutbox;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserEventRepository userEventRepository;
+
+    @Test
+    void whenRelayPendingThenInsertEventsBeforeRemovingThemFromUsers() {
+        final var first = event("1", 3L);
+        final var second = event("1", 4L);
+        final var other = event("2", 0L);
+
+        when(userRepository.findPendingEvents(10)).thenReturn(List.of(first, second, other));
+
+        assertEquals(2, userEventOutbox.relayPending(10));
+
+        final InOrder inOrder = inOrder(userEventRepository, userRepository);
+        inOrder.verify(userEventRepository).insert(first);
+        inOrder.verify(userEventRepository).insert(second);
+        inOrder.verify(userEventRepository).insert(other);
+        inOrder.verify(userRepository).removePendingEvents("1", 4L);
+        verify(userRepository).removePendingEvents("2", 0L);
+    }
+
+    @Test
+    void whenEventWasAlreadyMovedThenStillRemoveItFromUser() {
+        final var event = event("1", 3L);
+
+        when(userRepository.findPendingEvents(10)).thenReturn(List.of(event));
+        when(userEventRepository.insert(event)).thenThrow(new DuplicateKeyException("user_version"));
+
+        assertEquals(1, userEventOutbox.relayPending(10));
+
+        verify(userRepository).removePendingEvents("1", 3L);
+    }
+
+    @Test
+    void whenInsertFailsThenKeepEventsInUser() {
+        final var event = event("1", 3L);
+
+        when(userRepository.findPendingEvents(10)).thenReturn(List.of(event));
+        when(userEventRepository.insert(event)).thenThrow(new IllegalStateException("outbox unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> userEventOutbox.relayPending(10));
+
+        verify(userRepository, never()).removePendingEvents(any(), anyLong());
+    }
+
+    private static UserEvent event(final String userId, final long version) {
+        return UserEvent.of(UserEventType.UPDATED, generateMock(User.class).withId(userId).withVersion(version));
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.daniel.userserviceapi.outbox;
+
+import br.com.daniel.userserviceapi.entity.User;
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import br.com.daniel.userserviceapi.entity.UserEventType;
+import br.com.daniel.userserviceapi.repository.UserEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static br.com.daniel.userserviceapi.creator.CreatorUtils.generateMock;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventPublisherTest {
+
+    @Mock
+    private OutboxLease lease;
+
+    @Mock
+    private UserEventOutbox userEventOutbox;
+
+    @Mock
+    private UserEventRepository userEventRepository;
+
+    @Mock
+    private UserEventSink sink;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        final var properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        publisher = new UserEventPublisher(lease, userEventOutbox, userEventRepository, sink, properties, meterRegistry);
+        lenient().when(lease.tryAcquire()).thenReturn(true);
+    }
+
+    @Test
+    void whenPendingEventsThenPublishBatchesInOrderAndMarkPublished() {
+        final var first = List.of(event("1"), event("2"));
+        final var second = List.of(event("3"));
+
+        when(userEventRepository.findByPublishedAtIsNullOrderByOccurredAtAscIdAsc(any()))
+                .thenReturn(first, second);
+
+        publisher.drain();
+
+        final InOrder inOrder = inOrder(sink, userEventRepository);
+        inOrder.verify(sink).publish(first);
+        inOrder.verify(userEventRepository).markPublished(eq(List.of("1", "2")), any());
+        inOrder.verify(sink).publish(second);
+        inOrder.verify(userEventRepository).markPublished(eq(List.of("3")), any());
+
+        assertEquals(3, meterRegistry.get("user.outbox.published").counter().count());
+        assertEquals(3, meterRegistry.get("user.outbox.lag").timer().count());
+    }
+
+    @Test
+    void whenDrainThenRelayEventsFromUsersBeforeReadingOutbox() {
+        when(userEventOutbox.relayPending(2)).thenReturn(2, 1);
+        when(userEventRepository.findByPublishedAtIsNullOrderByOccurredAtAscIdAsc(any())).thenReturn(List.of());
+
+        publisher.drain();
+
+        final InOrder inOrder = inOrder(userEventOutbox, userEventRepository);
+        inOrder.verify(userEventOutbox, times(2)).relayPending(2);
+        inOrder.verify(userEventRepository).findByPublishedAtIsNullOrderByOccurredAtAscIdAsc(any());
+    }
+
+    @Test
+    void whenLeaseHeldByAnotherInstanceThenDoNotDrain() {
+        when(lease.tryAcquire()).thenReturn(false);
+
+        publisher.drain();
+
+        verifyNoInteractions(userEventOutbox, userEventRepository, sink);
+    }
+
+    @Test
+    void whenLeaseLostBetweenBatchesThenStopAfterCurrentBatch() {
+        final var first = List.of(event("1"), event("2"));
+
+        when(lease.tryAcquire()).thenReturn(true, false);
+        when(userEventRepository.findByPublishedAtIsNullOrderByOccurredAtAscIdAsc(any())).thenReturn(first);
+
+        publisher.drain();
+
+        verify(sink, times(1)).publish(first);
+        verify(userEventRepository).markPublished(eq(List.of("1", "2")), any());
+    }
+
+    @Test
+    void whenSinkFailsThenStopDrainWithoutMarkingPublished() {
+        final var batch = List.of(event("1"), event("2"));
+
+        when(userEventRepository.findByPublishedAtIsNullOrderByOccurredAtAscIdAsc(any())).thenReturn(batch);
+        doThrow(new IllegalStateException("sink unavailable")).when(sink).publish(batch);
+        when(userEventRepository.countByPublishedAtIsNull()).thenReturn(2L);
+
+        publisher.drain();
+
+        verify(sink, times(1)).publish(any());
+        verify(userEventRepository, never()).markPublished(anyCollection(), any());
+        assertEquals(1, meterRegistry.get("user.outbox.failures").counter().count());
+        assertEquals(2, meterRegistry.get("user.outbox.pending").gauge().value());
+    }
+
+    @Test
+    void whenBatchHoldsUserEventsOutOfVersionOrderThenPublishThemByVersion() {
+        final var user = generateMock(User.class);
+        final var newer = UserEvent.of(UserEventType.UPDATED, user.withVersion(2L)).withId("1");
+        final var other = event("2");
+        final var older = UserEvent.of(UserEventType.UPDATED, user.withVersion(1L)).withId("3");
+
+        when(userEventRepository.findByPublishedAtIsNullOrderByOccurredAtAscIdAsc(any()))
+                .thenReturn(List.of(newer, other, older), List.of());
+
+        publisher.drain();
+
+        verify(sink).publish(List.of(older, other, newer));
+        verify(userEventRepository).markPublished(eq(List.of("3", "2", "1")), any());
+    }
+
+    private static UserEvent event(final String id) {
+        return UserEvent.of(UserEventType.UPDATED, generateMock(User.class)).withId(id);
+    }
+}
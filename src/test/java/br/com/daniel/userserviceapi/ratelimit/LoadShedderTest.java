@@ -0,0 +1,89 @@
+package br.com.daniel.userserviceapi.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadShedderTest {
+
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    private final AtomicLong now = new AtomicLong();
+    private LoadShedder loadShedder;
+
+    @BeforeEach
+    void setUp() {
+        final var properties = new RateLimitProperties();
+        properties.setEndpoints(Map.of(
+                "findAll", new RateLimitProperties.Budget(10, 2, true),
+                "save", new RateLimitProperties.Budget(10, 2, true)
+        ));
+        properties.getShedding().setLatencyThreshold(Duration.ofMillis(500));
+        properties.getShedding().setDecayHalfLife(Duration.ofSeconds(5));
+        properties.getShedding().setProbeInterval(Duration.ofSeconds(1));
+        properties.getShedding().setMaxInFlight(2);
+
+        loadShedder = new LoadShedder(properties, new SimpleMeterRegistry(), now::get);
+    }
+
+    @Test
+    void whenExpensiveEndpointIsSlowThenShedOnlyThatEndpoint() {
+        complete("findAll", SLOW);
+
+        assertTrue(loadShedder.shouldShed("findAll"));
+        assertFalse(loadShedder.shouldShed("save"));
+        assertFalse(loadShedder.shouldShed("findById"));
+    }
+
+    @Test
+    void whenNoRequestCompletesThenLatencyDecaysAndEndpointRecovers() {
+        complete("findAll", SLOW);
+        assertTrue(loadShedder.shouldShed("findAll"));
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertFalse(loadShedder.shouldShed("findAll"));
+    }
+
+    @Test
+    void whenShedEndpointThenAdmitOneProbePerInterval() {
+        complete("findAll", SLOW);
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertFalse(loadShedder.shouldShed("findAll"));
+        assertTrue(loadShedder.shouldShed("findAll"));
+
+        loadShedder.enter();
+        loadShedder.exit("findAll", FAST);
+        for (int i = 0; i < 20; i++) {
+            complete("findAll", FAST);
+        }
+
+        assertFalse(loadShedder.shouldShed("findAll"));
+    }
+
+    @Test
+    void whenInFlightLimitReachedThenShedEveryEndpoint() {
+        loadShedder.enter();
+        loadShedder.enter();
+
+        assertTrue(loadShedder.shouldShed("findById"));
+
+        loadShedder.exit("findById", FAST);
+
+        assertFalse(loadShedder.shouldShed("findById"));
+    }
+
+    private void complete(final String endpoint, final long elapsedNanos) {
+        loadShedder.enter();
+        loadShedder.exit(endpoint, elapsedNanos);
+    }
+}
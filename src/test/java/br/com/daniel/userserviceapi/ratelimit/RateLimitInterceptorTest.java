@@ -0,0 +1,104 @@
+package br.com.daniel.userserviceapi.ratelimit;
+
+import br.com.daniel.userserviceapi.controller.exceptions.ControllerExceptionHandler;
+import br.com.daniel.userserviceapi.controller.impl.UserControllerImpl;
+import br.com.daniel.userserviceapi.service.PasswordVerificationService;
+import br.com.daniel.userserviceapi.service.UserService;
+import br.com.userservice.commonslib.model.responses.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.Map;
+
+import static br.com.daniel.userserviceapi.creator.CreatorUtils.generateMock;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+class RateLimitInterceptorTest {
+
+    private static final String URI = "/api/users/{id}";
+
+    private final UserService userService = mock(UserService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEndpoints(Map.of("findById", new RateLimitProperties.Budget(2, 0.001, false)));
+
+        final var interceptor = new RateLimitInterceptor(properties, new RateLimiter(properties),
+                new LoadShedder(properties, meterRegistry), meterRegistry);
+        mockMvc = standaloneSetup(new UserControllerImpl(userService, mock(PasswordVerificationService.class)))
+                .addInterceptors(interceptor)
+                .setControllerAdvice(new ControllerExceptionHandler())
+                .build();
+
+        when(userService.findById(anyString())).thenReturn(generateMock(UserResponse.class));
+    }
+
+    @Test
+    void whenBudgetExhaustedThenReturnTooManyRequestsWithRetryAfter() throws Exception {
+        mockMvc.perform(get(URI, "1")).andExpect(status().isOk());
+        mockMvc.perform(get(URI, "1")).andExpect(status().isOk());
+
+        mockMvc.perform(get(URI, "1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value(TOO_MANY_REQUESTS.value()))
+                .andExpect(jsonPath("$.error").value(TOO_MANY_REQUESTS.getReasonPhrase()))
+                .andExpect(jsonPath("$.path").value("/api/users/1"));
+
+        assertEquals(1, meterRegistry.get("user.api.requests.rejected")
+                .tag("endpoint", "findById")
+                .tag("reason", "rate_limit")
+                .counter().count());
+    }
+
+    @Test
+    void whenClientRotatesClientIdHeaderThenBudgetIsNotReset() throws Exception {
+        mockMvc.perform(get(URI, "1").header("X-Client-Id", "a")).andExpect(status().isOk());
+        mockMvc.perform(get(URI, "1").header("X-Client-Id", "b")).andExpect(status().isOk());
+
+        mockMvc.perform(get(URI, "1").header("X-Client-Id", "c")).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void whenRequestsComeFromAnotherAddressThenUseSeparateBudget() throws Exception {
+        mockMvc.perform(get(URI, "1")).andExpect(status().isOk());
+        mockMvc.perform(get(URI, "1")).andExpect(status().isOk());
+        mockMvc.perform(get(URI, "1")).andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get(URI, "1").with(remoteAddress("10.0.0.2"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void whenTrustedHeaderConfiguredThenIdentifyClientByHeader() throws Exception {
+        properties.setTrustedClientIdHeader("X-Client-Id");
+
+        mockMvc.perform(get(URI, "1").header("X-Client-Id", "a")).andExpect(status().isOk());
+        mockMvc.perform(get(URI, "1").header("X-Client-Id", "a")).andExpect(status().isOk());
+        mockMvc.perform(get(URI, "1").header("X-Client-Id", "a")).andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get(URI, "1").header("X-Client-Id", "b")).andExpect(status().isOk());
+    }
+
+    private static RequestPostProcessor remoteAddress(final String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
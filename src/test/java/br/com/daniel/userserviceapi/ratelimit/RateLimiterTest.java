@@ -0,0 +1,55 @@
+package br.com.daniel.userserviceapi.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void whenManyClientsThenTrackedBucketsStayBounded() {
+        final var properties = new RateLimitProperties();
+        properties.setMaxTrackedBuckets(100);
+        properties.setDefaultBudget(new RateLimitProperties.Budget(1, 1, false));
+        final var now = new AtomicLong();
+        final var rateLimiter = new RateLimiter(properties, now::get);
+
+        for (int client = 0; client < 10_000; client++) {
+            // Earlier clients have refilled by the time the next one arrives
+            now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            assertEquals(0, rateLimiter.tryAcquire("10.0.0." + client, "findById"));
+        }
+
+        assertTrue(rateLimiter.trackedBuckets() <= 100);
+    }
+
+    @Test
+    void whenFullAndNoBucketIdleThenRejectNewClientAndKeepThrottlingOthers() {
+        final var properties = new RateLimitProperties();
+        properties.setMaxTrackedBuckets(2);
+        properties.setDefaultBudget(new RateLimitProperties.Budget(1, 0.001, false));
+        final var rateLimiter = new RateLimiter(properties, () -> 0L);
+
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", "findById"));
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.2", "findById"));
+
+        assertEquals(properties.getShedding().getRetryAfter().toNanos(), rateLimiter.tryAcquire("10.0.0.3", "findById"));
+        assertTrue(rateLimiter.tryAcquire("10.0.0.1", "findById") > 0);
+        assertTrue(rateLimiter.tryAcquire("10.0.0.2", "findById") > 0);
+        assertEquals(2, rateLimiter.trackedBuckets());
+    }
+
+    @Test
+    void whenSameClientAndEndpointThenShareBudget() {
+        final var properties = new RateLimitProperties();
+        properties.setDefaultBudget(new RateLimitProperties.Budget(1, 0.001, false));
+        final var rateLimiter = new RateLimiter(properties);
+
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", "findById"));
+        assertTrue(rateLimiter.tryAcquire("10.0.0.1", "findById") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", "save"));
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.daniel.userserviceapi.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void whenBurstWithinCapacityThenAdmitAll() {
+        final var bucket = new TokenBucket(3, 1, now::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    void whenCapacityExhaustedThenReturnWaitUntilNextToken() {
+        final var bucket = new TokenBucket(2, 2, now::get);
+
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        assertEquals(500_000_000L, bucket.tryAcquire());
+        assertFalse(bucket.isIdle());
+    }
+
+    @Test
+    void whenTimePassesThenRefillTokens() {
+        final var bucket = new TokenBucket(1, 10, now::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+
+        now.addAndGet(100_000_000L);
+
+        assertTrue(bucket.isIdle());
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    void whenInvalidBudgetThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, now::get));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, now::get));
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.daniel.userserviceapi.service;
+
+import br.com.daniel.userserviceapi.config.BCryptConfig;
+import br.com.daniel.userserviceapi.entity.User;
+import br.com.daniel.userserviceapi.repository.UserRepository;
+import br.com.daniel.userserviceapi.security.PasswordProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static br.com.daniel.userserviceapi.creator.CreatorUtils.generateMock;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordVerificationServiceTest {
+
+    private static final String EMAIL = "teste@gmail.com";
+    private static final String PASSWORD = "123456";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordEncoder encoder;
+    private PasswordVerificationService passwordVerificationService;
+
+    @BeforeEach
+    void setUp() {
+        final var properties = new PasswordProperties();
+        properties.setBcryptStrength(5);
+
+        encoder = new BCryptConfig().passwordEncoder(properties);
+        passwordVerificationService = new PasswordVerificationService(userRepository, encoder, meterRegistry);
+    }
+
+    @Test
+    void whenLegacyHashMatchesThenRehashWithTargetCost() {
+        final var legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        final var user = generateMock(User.class).withEmail(EMAIL).withPassword(legacyHash);
+
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userRepository.updatePasswordIfUnchanged(eq(user.getId()), eq(legacyHash), anyString())).thenReturn(1L);
+
+        assertTrue(passwordVerificationService.verify(EMAIL, PASSWORD));
+
+        verify(userRepository).updatePasswordIfUnchanged(eq(user.getId()), eq(legacyHash),
+                argThat(hash -> hash.startsWith("{bcrypt}$2a$05$") && encoder.matches(PASSWORD, hash)));
+        assertEquals(1, meterRegistry.get("user.password.rehash").counter().count());
+    }
+
+    @Test
+    void whenHashAlreadyAtTargetThenDoNotRehash() {
+        final var user = generateMock(User.class).withEmail(EMAIL).withPassword(encoder.encode(PASSWORD));
+
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        assertTrue(passwordVerificationService.verify(EMAIL, PASSWORD));
+
+        verify(userRepository, never()).updatePasswordIfUnchanged(anyString(), anyString(), anyString());
+        assertEquals(1, meterRegistry.get("user.password.verify").tag("outcome", "match").timer().count());
+    }
+
+    @Test
+    void whenStoredCostAboveTargetThenDoNotRehash() {
+        final var strongerHash = "{bcrypt}" + new BCryptPasswordEncoder(6).encode(PASSWORD);
+        final var user = generateMock(User.class).withEmail(EMAIL).withPassword(strongerHash);
+
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        assertTrue(passwordVerificationService.verify(EMAIL, PASSWORD));
+
+        verify(userRepository, never()).updatePasswordIfUnchanged(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void whenPasswordDoesNotMatchThenReturnFalse() {
+        final var user = generateMock(User.class).withEmail(EMAIL).withPassword(new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        assertFalse(passwordVerificationService.verify(EMAIL, "wrong-password"));
+
+        verify(userRepository, never()).updatePasswordIfUnchanged(anyString(), anyString(), anyString());
+        assertEquals(1, meterRegistry.get("user.password.verify").tag("outcome", "mismatch").timer().count());
+    }
+
+    @Test
+    void whenEmailUnknownThenReturnFalse() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertFalse(passwordVerificationService.verify(EMAIL, PASSWORD));
+
+        verify(userRepository, never()).updatePasswordIfUnchanged(anyString(), anyString(), anyString());
+        assertEquals(1, meterRegistry.get("user.password.verify").tag("outcome", "mismatch").timer().count());
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.daniel.userserviceapi.service;
+
+import br.com.userservice.commonslib.model.enums.ProfileEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileCountServiceTest {
+
+    @Test
+    void whenProfilesUnchangedThenNoDeltas() {
+        assertTrue(ProfileCountService.deltas(Set.of(ProfileEnum.ROLE_ADMIN), Set.of(ProfileEnum.ROLE_ADMIN)).isEmpty());
+        assertTrue(ProfileCountService.deltas(null, Set.of()).isEmpty());
+    }
+
+    @Test
+    void whenUserCreatedThenIncrementEveryProfile() {
+        final var deltas = ProfileCountService.deltas(Set.of(), EnumSet.allOf(ProfileEnum.class));
+
+        assertEquals(ProfileEnum.values().length, deltas.size());
+        deltas.values().forEach(delta -> assertEquals(1, delta));
+    }
+
+    @Test
+    void whenProfilesChangedThenIncrementAddedAndDecrementRemoved() {
+        final var current = EnumSet.allOf(ProfileEnum.class);
+        current.remove(ProfileEnum.ROLE_ADMIN);
+
+        final var deltas = ProfileCountService.deltas(Set.of(ProfileEnum.ROLE_ADMIN), current);
+
+        assertEquals(-1, deltas.get(ProfileEnum.ROLE_ADMIN));
+        current.forEach(profile -> assertEquals(1, deltas.get(profile)));
+    }
+}
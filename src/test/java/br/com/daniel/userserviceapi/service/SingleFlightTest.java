@@ -0,0 +1,129 @@
+package br.com.daniel.userserviceapi.service;
+
+import br.com.userservice.commonslib.model.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void whenLeaderFailsThenFollowersReceiveSameException() throws Exception {
+        final var singleFlight = new SingleFlight<String, String>(Duration.ofSeconds(5));
+        final var leaderStarted = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var loads = new AtomicInteger();
+
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            final var leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                throw new ResourceNotFoundException("not found");
+            }));
+            assertTrue(leaderStarted.await(5, SECONDS));
+
+            final var follower = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                return "value";
+            }));
+            Thread.sleep(100);
+            release.countDown();
+
+            final var leaderError = assertThrows(Exception.class, leader::get).getCause();
+            final var followerError = assertThrows(Exception.class, follower::get).getCause();
+
+            assertEquals(ResourceNotFoundException.class, followerError.getClass());
+            assertSame(leaderError, followerError);
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void whenLeaderExceedsMaxWaitThenFollowersFailWithoutLoading() throws Exception {
+        final int followers = 10;
+        final var singleFlight = new SingleFlight<String, String>(Duration.ofMillis(50));
+        final var leaderStarted = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var loads = new AtomicInteger();
+
+        try (var executor = Executors.newFixedThreadPool(followers + 1)) {
+            final var leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "leader";
+            }));
+            assertTrue(leaderStarted.await(5, SECONDS));
+
+            final List<Future<String>> waiting = new ArrayList<>();
+            for (int i = 0; i < followers; i++) {
+                waiting.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    loads.incrementAndGet();
+                    return "follower";
+                })));
+            }
+            for (final var follower : waiting) {
+                final var error = assertThrows(ExecutionException.class, follower::get).getCause();
+                assertEquals(QueryTimeoutException.class, error.getClass());
+            }
+
+            release.countDown();
+            assertEquals("leader", leader.get());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void whenKeyForgottenThenNextCallerDoesNotJoinCallInFlight() throws Exception {
+        final var singleFlight = new SingleFlight<String, String>(Duration.ofSeconds(5));
+        final var leaderStarted = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            final var leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "before-write";
+            }));
+            assertTrue(leaderStarted.await(5, SECONDS));
+
+            singleFlight.forget("key");
+
+            assertEquals("after-write", singleFlight.execute("key", () -> "after-write"));
+
+            release.countDown();
+            assertEquals("before-write", leader.get());
+        }
+    }
+
+    @Test
+    void whenNoCallInFlightThenLoadAgain() {
+        final var singleFlight = new SingleFlight<String, Integer>(Duration.ofSeconds(1));
+        final var loads = new AtomicInteger();
+
+        singleFlight.execute("key", loads::incrementAndGet);
+        singleFlight.execute("key", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package br.com.daniel.userserviceapi.service;
 
 import br.com.daniel.userserviceapi.entity.User;
+import br.com.daniel.userserviceapi.entity.UserEvent;
+import br.com.daniel.userserviceapi.entity.UserEventType;
 import br.com.daniel.userserviceapi.mapper.UserMapper;
 import br.com.daniel.userserviceapi.repository.UserRepository;
 import br.com.userservice.commonslib.model.enums.ProfileEnum;
@@ -8,18 +10,35 @@ import br.com.userservice.commonslib.model.exceptions.ResourceNotFoundException;
 import br.com.userservice.commonslib.model.requests.CreateUserRequest;
 import br.com.userservice.commonslib.model.requests.UpdateUserRequest;
 import br.com.userservice.commonslib.model.responses.UserResponse;
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static br.com.daniel.userserviceapi.creator.CreatorUtils.generateMock;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -38,7 +57,10 @@ class UserServiceTest {
     private UserMapper userMapper;
 
     @Mock
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private PasswordEncoder bCryptPasswordEncoder;
+
+    @Mock
+    private ProfileCountService profileCountService;
 
     @Test
     void whenCallFindByIdWithValidIdThenReturnUserResponse() {
@@ -71,18 +93,129 @@ class UserServiceTest {
     }
 
     @Test
-    void whenCallFindAllWithValidIdThenReturnListOfUserResponse() {
-        when(userRepository.findAll()).thenReturn(List.of(new User(), new User()));
+    void whenConcurrentFindByIdForSameIdThenQueryDatabaseOncePerId() throws Exception {
+        final int callers = 100;
+        final var ready = new CountDownLatch(callers);
+        final var start = new CountDownLatch(1);
+
+        when(userRepository.findById(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.of(new User());
+        });
+        when(userMapper.fromEntity(any(User.class))).thenAnswer(invocation -> generateMock(UserResponse.class));
+
+        final List<Future<UserResponse>> results = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                final var id = String.valueOf(i % 2);
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return userService.findById(id);
+                }));
+            }
+            ready.await();
+            start.countDown();
+
+            for (int i = 0; i < callers; i++) {
+                assertSame(results.get(i % 2).get(), results.get(i).get());
+            }
+        }
+
+        verify(userRepository).findById("0");
+        verify(userRepository).findById("1");
+        verify(userMapper, times(2)).fromEntity(any(User.class));
+    }
+
+    @Test
+    void whenLookupExceedsMaxWaitThenFollowersFailWithoutQueryingAgain() throws Exception {
+        final int followers = 5;
+        final var leaderStarted = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+
+        when(userRepository.findById("1")).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            release.await(10, SECONDS);
+            return Optional.of(new User());
+        });
         when(userMapper.fromEntity(any(User.class))).thenReturn(generateMock(UserResponse.class));
 
-        final List<UserResponse> userResponses = userService.findAll();
+        try (var executor = Executors.newFixedThreadPool(followers + 1)) {
+            final var leader = executor.submit(() -> userService.findById("1"));
+            assertTrue(leaderStarted.await(5, SECONDS));
+
+            final List<Future<UserResponse>> waiting = new ArrayList<>();
+            for (int i = 0; i < followers; i++) {
+                waiting.add(executor.submit(() -> userService.findById("1")));
+            }
+            for (final var follower : waiting) {
+                final var error = assertThrows(ExecutionException.class, follower::get).getCause();
+                assertEquals(QueryTimeoutException.class, error.getClass());
+            }
+
+            release.countDown();
+            assertNotNull(leader.get());
+        }
+        verify(userRepository, times(1)).findById("1");
+    }
 
-        assertNotNull(userResponses);
-        assertEquals(2, userResponses.size());
-        assertEquals(UserResponse.class, userResponses.get(0).getClass());
+    @Test
+    void whenFindByIdAfterUpdateThenDoNotJoinLookupStartedBeforeIt() throws Exception {
+        final var updateUserRequest = factoryUpdateUserWithPassword(null);
+        final var staleUser = generateMock(User.class);
+        final var updatedUser = generateMock(User.class);
+        final var staleResponse = generateMock(UserResponse.class);
+        final var updatedResponse = generateMock(UserResponse.class);
+        final var staleLookupStarted = new CountDownLatch(1);
+        final var releaseStaleLookup = new CountDownLatch(1);
+
+        when(userRepository.findById("1"))
+                .thenAnswer(invocation -> {
+                    staleLookupStarted.countDown();
+                    releaseStaleLookup.await(5, SECONDS);
+                    return Optional.of(staleUser);
+                })
+                .thenReturn(Optional.of(updatedUser));
+        when(userRepository.findByEmail(updateUserRequest.email())).thenReturn(Optional.empty());
+        when(userMapper.update(updateUserRequest, updatedUser)).thenReturn(updatedUser);
+        when(userRepository.updateReturningPrevious(any(User.class), any(), any(UserEvent.class))).thenReturn(staleUser);
+        when(userMapper.fromEntity(any(User.class))).thenReturn(updatedResponse);
+        when(userMapper.fromEntity(staleUser)).thenReturn(staleResponse);
 
-        verify(userRepository).findAll();
-        verify(userMapper, times(2)).fromEntity(any(User.class));
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            final var staleLookup = executor.submit(() -> userService.findById("1"));
+            assertTrue(staleLookupStarted.await(5, SECONDS));
+
+            userService.update("1", updateUserRequest);
+
+            final var response = assertTimeout(Duration.ofMillis(500), () -> userService.findById("1"));
+            assertSame(updatedResponse, response);
+
+            releaseStaleLookup.countDown();
+            assertSame(staleResponse, staleLookup.get());
+        }
+        verify(userRepository, times(3)).findById("1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenCallStreamAllThenMapEachDocumentWithoutLoadingEntities() {
+        final var documents = List.of(new Document("name", "first"), new Document("name", "second"));
+
+        doAnswer(invocation -> {
+            documents.forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).when(userRepository).forEachDocument(any());
+        when(userMapper.fromDocument(any(Document.class))).thenReturn(generateMock(UserResponse.class));
+
+        final List<UserResponse> userResponses = new ArrayList<>();
+        userService.streamAll().forEach(userResponses::add);
+
+        assertEquals(2, userResponses.size());
+        verify(userMapper).fromDocument(documents.get(0));
+        verify(userMapper).fromDocument(documents.get(1));
+        verify(userRepository, never()).findAll();
+        verify(userMapper, never()).fromEntity(any(User.class));
     }
 
     @Test
@@ -91,14 +224,14 @@ class UserServiceTest {
 
         when(userMapper.fromRequest(any())).thenReturn(new User());
         when(bCryptPasswordEncoder.encode(anyString())).thenReturn("password");
-        when(userRepository.save(any(User.class))).thenReturn(generateMock(User.class));
+        when(userRepository.insertWithEvent(any(User.class), any(UserEvent.class))).thenReturn(generateMock(User.class));
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
         userService.save(request);
 
         verify(userMapper).fromRequest(request);
         verify(bCryptPasswordEncoder).encode(request.password());
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).insertWithEvent(any(User.class), any(UserEvent.class));
         verify(userRepository).findByEmail(request.email());
 
     }
@@ -120,7 +253,7 @@ class UserServiceTest {
         verify(userRepository).findByEmail(request.email());
         verify(userMapper, times(0)).fromRequest(any());
         verify(bCryptPasswordEncoder, never()).encode(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).insertWithEvent(any(User.class), any(UserEvent.class));
     }
 
     @Test
@@ -137,7 +270,7 @@ class UserServiceTest {
         when(userMapper.update(updateUserRequest, userAlreadySaved)).thenReturn(generateMock(User.class));
         when(bCryptPasswordEncoder.encode(anyString())).thenReturn(password);
 
-        when(userRepository.save(any(User.class))).thenReturn(generateMock(User.class));
+        when(userRepository.updateReturningPrevious(any(User.class), any(), any(UserEvent.class))).thenReturn(generateMock(User.class));
         when(userMapper.fromEntity(any(User.class))).thenReturn(generateMock(UserResponse.class));
 
         final UserResponse userResponse = userService.update(id, updateUserRequest);
@@ -160,7 +293,7 @@ class UserServiceTest {
         when(userMapper.update(updateUserRequest, userAlreadySaved)).thenReturn(generateMock(User.class));
         when(userMapper.update(updateUserRequest, userAlreadySaved).withPassword(null)).thenReturn(generateMock(User.class));
 
-        when(userRepository.save(any(User.class))).thenReturn(generateMock(User.class));
+        when(userRepository.updateReturningPrevious(any(User.class), any(), any(UserEvent.class))).thenReturn(generateMock(User.class));
         when(userMapper.fromEntity(any(User.class))).thenReturn(generateMock(UserResponse.class));
 
         final UserResponse userResponse = userService.update("1", updateUserRequest);
@@ -190,7 +323,7 @@ class UserServiceTest {
         verify(userMapper, never()).fromRequest(any());
         verify(userMapper, never()).update(request, generateMock(User.class));
         verify(bCryptPasswordEncoder, never()).encode(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).updateReturningPrevious(any(User.class), any(), any(UserEvent.class));
     }
 
     @Test
@@ -214,9 +347,174 @@ class UserServiceTest {
         verify(userRepository).findByEmail(request.email());
         verify(userMapper, times(0)).fromRequest(any());
         verify(bCryptPasswordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).updateReturningPrevious(any(User.class), any(), any(UserEvent.class));
+    }
+
+    @Test
+    void whenCallUpdateThenApplyProfileChangeFromReplacedDocument() {
+        final var updateUserRequest = factoryUpdateUserWithPassword(null);
+        final var userAlreadySaved = generateMock(User.class).withVersion(4L);
+        final var replaced = generateMock(User.class).withProfiles(Set.of(ProfileEnum.ROLE_ADMIN)).withVersion(4L);
+        final var updated = userAlreadySaved.withVersion(5L);
+
+        when(userRepository.findById("1")).thenReturn(Optional.of(userAlreadySaved));
+        when(userRepository.findByEmail(updateUserRequest.email())).thenReturn(Optional.empty());
+        when(userMapper.update(updateUserRequest, userAlreadySaved)).thenReturn(userAlreadySaved);
+        when(userRepository.updateReturningPrevious(eq(updated), eq(4L), any(UserEvent.class))).thenReturn(replaced);
+        when(userMapper.fromEntity(any(User.class))).thenReturn(generateMock(UserResponse.class));
+
+        userService.update("1", updateUserRequest);
+
+        verify(profileCountService).applyChange(Set.of(ProfileEnum.ROLE_ADMIN), updated.getProfiles());
+        verify(userRepository).updateReturningPrevious(eq(updated), eq(4L), argThat(event ->
+                event.getType() == UserEventType.UPDATED && event.getVersion() == 5L
+                        && event.getUserId().equals(updated.getId())));
+    }
+
+    @Test
+    void whenUserModifiedBeforeUpdateWriteThenRetryOverNewVersion() {
+        final var updateUserRequest = factoryUpdateUserWithPassword(null);
+        final var readFirst = generateMock(User.class).withVersion(4L);
+        final var readAfterConflict = readFirst.withVersion(5L);
+
+        when(userRepository.findById("1")).thenReturn(Optional.of(readFirst), Optional.of(readAfterConflict));
+        when(userRepository.findByEmail(updateUserRequest.email())).thenReturn(Optional.empty());
+        when(userMapper.update(eq(updateUserRequest), any(User.class))).thenAnswer(invocation -> invocation.getArgument(1));
+        when(userRepository.updateReturningPrevious(any(User.class), eq(4L), any(UserEvent.class))).thenReturn(null);
+        when(userRepository.updateReturningPrevious(any(User.class), eq(5L), any(UserEvent.class))).thenReturn(readAfterConflict);
+        when(userMapper.fromEntity(any(User.class))).thenReturn(generateMock(UserResponse.class));
+
+        assertNotNull(userService.update("1", updateUserRequest));
+
+        verify(userRepository, times(2)).findById("1");
+        verify(profileCountService, times(1)).applyChange(any(), any());
+    }
+
+    @Test
+    void whenUserKeepsChangingDuringUpdateThenThrowOptimisticLockingFailureException() {
+        final var updateUserRequest = factoryUpdateUserWithPassword(null);
+
+        when(userRepository.findById("1")).thenAnswer(invocation -> Optional.of(generateMock(User.class)));
+        when(userRepository.findByEmail(updateUserRequest.email())).thenReturn(Optional.empty());
+        when(userMapper.update(eq(updateUserRequest), any(User.class))).thenAnswer(invocation -> invocation.getArgument(1));
+        when(userRepository.updateReturningPrevious(any(User.class), any(), any(UserEvent.class))).thenReturn(null);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> userService.update("1", updateUserRequest));
+
+        verify(userRepository, times(3)).updateReturningPrevious(any(User.class), any(), any(UserEvent.class));
+        verify(profileCountService, never()).applyChange(any(), any());
+    }
+
+    @Test
+    void whenUserDeletedBeforeUpdateWriteThenThrowResourceNotFoundException() {
+        final var updateUserRequest = factoryUpdateUserWithPassword(null);
+        final var userAlreadySaved = generateMock(User.class);
+
+        when(userRepository.findById("1")).thenReturn(Optional.of(userAlreadySaved), Optional.empty());
+        when(userRepository.findByEmail(updateUserRequest.email())).thenReturn(Optional.empty());
+        when(userMapper.update(updateUserRequest, userAlreadySaved)).thenReturn(userAlreadySaved);
+        when(userRepository.updateReturningPrevious(any(User.class), any(), any(UserEvent.class))).thenReturn(null);
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.update("1", updateUserRequest));
+
+        verify(profileCountService, never()).applyChange(any(), any());
+    }
+
+    @Test
+    void whenConcurrentUpdatesOfSameUserThenCounterDeltasMatchStoredState() throws Exception {
+        final var initialProfiles = Set.of(ProfileEnum.ROLE_ADMIN);
+        final var stored = new AtomicReference<Set<ProfileEnum>>();
+        final var counters = new ConcurrentHashMap<ProfileEnum, Integer>();
+        final var requests = List.of(
+                new UpdateUserRequest("teste name", "teste@gmail.com", null, EnumSet.allOf(ProfileEnum.class)),
+                new UpdateUserRequest("teste name", "teste@gmail.com", null, Set.of())
+        );
+
+        // Every caller reads the same stale user, as two updates racing on one document would
+        when(userRepository.findById("1")).thenAnswer(invocation ->
+                Optional.of(generateMock(User.class).withId("1").withProfiles(new HashSet<>(initialProfiles))));
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(userMapper.update(any(UpdateUserRequest.class), any(User.class))).thenAnswer(invocation ->
+                invocation.getArgument(1, User.class).withProfiles(invocation.getArgument(0, UpdateUserRequest.class).profiles()));
+        when(userRepository.updateReturningPrevious(any(User.class), any(), any(UserEvent.class))).thenAnswer(invocation ->
+                generateMock(User.class).withProfiles(stored.getAndSet(invocation.getArgument(0, User.class).getProfiles())));
+        doAnswer(invocation -> {
+            ProfileCountService.deltas(invocation.getArgument(0), invocation.getArgument(1))
+                    .forEach((profile, delta) -> counters.merge(profile, delta, Integer::sum));
+            return null;
+        }).when(profileCountService).applyChange(any(), any());
+
+        for (int round = 0; round < 20; round++) {
+            stored.set(initialProfiles);
+            counters.clear();
+            final var start = new CountDownLatch(1);
+
+            try (var executor = Executors.newFixedThreadPool(requests.size())) {
+                final List<Future<UserResponse>> updates = new ArrayList<>();
+                for (final var request : requests) {
+                    updates.add(executor.submit(() -> {
+                        start.await();
+                        return userService.update("1", request);
+                    }));
+                }
+                start.countDown();
+                for (final var update : updates) {
+                    update.get();
+                }
+            }
+
+            counters.values().removeIf(delta -> delta == 0);
+            assertEquals(ProfileCountService.deltas(initialProfiles, stored.get()), counters);
+        }
+    }
+
+    @Test
+    void whenCallSaveThenInsertUserWithCreatedEvent() {
+        final var request = generateMock(CreateUserRequest.class);
+
+        when(userMapper.fromRequest(any())).thenReturn(new User());
+        when(bCryptPasswordEncoder.encode(anyString())).thenReturn("password");
+        when(userRepository.insertWithEvent(any(User.class), any(UserEvent.class))).thenReturn(generateMock(User.class));
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+
+        userService.save(request);
+
+        verify(userRepository).insertWithEvent(argThat(user -> user.getVersion() == 0L), argThat(event ->
+                event.getType() == UserEventType.CREATED && event.getVersion() == 0L));
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void whenCounterUpdateFailsAfterSaveThenEventIsAlreadyStored() {
+        final var request = generateMock(CreateUserRequest.class);
+
+        when(userMapper.fromRequest(any())).thenReturn(new User());
+        when(bCryptPasswordEncoder.encode(anyString())).thenReturn("password");
+        when(userRepository.insertWithEvent(any(User.class), any(UserEvent.class))).thenReturn(generateMock(User.class));
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("counters unavailable")).when(profileCountService).applyChange(any(), any());
+
+        assertThrows(IllegalStateException.class, () -> userService.save(request));
+
+        verify(userRepository).insertWithEvent(any(User.class), any(UserEvent.class));
+    }
+
+    @Test
+    void whenCallFindByProfileThenReturnPageOfUserResponse() {
+        final var pageable = PageRequest.of(0, 2);
+
+        when(userRepository.findByProfiles(ProfileEnum.ROLE_ADMIN, pageable))
+                .thenReturn(new PageImpl<>(List.of(new User(), new User()), pageable, 5));
+        when(userMapper.fromEntity(any(User.class))).thenReturn(generateMock(UserResponse.class));
+
+        final var userResponses = userService.findByProfile(ProfileEnum.ROLE_ADMIN, pageable);
+
+        assertEquals(2, userResponses.getContent().size());
+        assertEquals(5, userResponses.getTotalElements());
+        verify(userRepository).findByProfiles(ProfileEnum.ROLE_ADMIN, pageable);
+        verify(userMapper, times(2)).fromEntity(any(User.class));
+    }
+
     private UpdateUserRequest factoryUpdateUserWithPassword(final String password){
         return new UpdateUserRequest(
                 "teste name",